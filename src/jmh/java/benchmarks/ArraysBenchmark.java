@@ -0,0 +1,214 @@
+package benchmarks;
+
+import interfaces.ToStringFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Covers every public {@code from}/{@code to} overload of {@link ToStringFunction.Arrays}
+ * and {@link ToStringFunction.Collections}.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ArraysBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"0.0", "0.1", "0.5"})
+    double nullDensity;
+
+    @Param({"INTEGER", "STRING", "DOUBLE", "OBJECT"})
+    Fixtures.ElementType elementType;
+
+    Object[] source;
+    /**
+     * Same shape as {@link #source} without nulls, for the overloads that throw on {@code null} cells.
+     * */
+    Object[] nonNullSource;
+    String[] strings;
+    List<Object> collection;
+    /**
+     * Reused target for the {@code appendTo} overloads, mimicking a logger's thread-local buffer.
+     * */
+    final StringBuilder buffer = new StringBuilder();
+    final StringWriter writer = new StringWriter();
+    final ByteBuffer bytes = ByteBuffer.allocate(1 << 24);
+    final ToStringFunction.Utf8.Sink bytesSink = ToStringFunction.Utf8.Sink.of(bytes);
+    final ToStringFunction.Utf8.Sink streamSink = ToStringFunction.Utf8.Sink.of(OutputStream.nullOutputStream());
+
+    static final ToStringFunction.Template<Object>
+            valueOfTemplate = ToStringFunction.Template.of(ArraysBenchmark.prefix, ArraysBenchmark.join, ArraysBenchmark.suffix)
+            , mapTemplate = ToStringFunction.Template.of(
+                    ArraysBenchmark.prefix, ArraysBenchmark.join, ArraysBenchmark.suffix, Fixtures.nullSafe, ToStringFunction.Arrays.ViewRange.all);
+
+    static final String
+            prefix = "values = [",
+            join = " | ",
+            suffix = "]";
+
+    @Setup
+    public void setup() {
+        source = Fixtures.objects(elementType, size, nullDensity);
+        nonNullSource = Fixtures.objects(elementType, size, 0);
+        strings = Fixtures.strings(size, nullDensity);
+        collection = List.of(nonNullSource);
+    }
+
+    @Benchmark
+    public String[] toStringArray_map() {
+        return ToStringFunction.Arrays.toStringArray(source, Fixtures.nullSafe);
+    }
+
+    @Benchmark
+    public String[] toStringArray() {
+        return ToStringFunction.Arrays.toStringArray(nonNullSource);
+    }
+
+    @Benchmark
+    public String toString_fromTo() {
+        return ToStringFunction.Arrays.toString(source, 0, size);
+    }
+
+    @Benchmark
+    public String toString_strings_fromTo() {
+        return ToStringFunction.Arrays.toString(strings, 0, size);
+    }
+
+    @Benchmark
+    public String toString_strings_join() {
+        return ToStringFunction.Arrays.toString(strings, join);
+    }
+
+    @Benchmark
+    public String toString_map_fromTo() {
+        return ToStringFunction.Arrays.toString(source, Fixtures.nullSafe, 0, size);
+    }
+
+    @Benchmark
+    public String toString_prefix_join_map() {
+        return ToStringFunction.Arrays.toString(prefix, source, join, Fixtures.nullSafe, 0, size);
+    }
+
+    @Benchmark
+    public String toString_prefix_join_suffix_map() {
+        return ToStringFunction.Arrays.toString(prefix, source, join, suffix, Fixtures.nullSafe, 0, size);
+    }
+
+    @Benchmark
+    public String toString_prefix_join_suffix() {
+        return ToStringFunction.Arrays.toString(prefix, source, join, suffix, 0, size);
+    }
+
+    @Benchmark
+    public String[] collections_toStringArray_map() {
+        return ToStringFunction.Collections.toStringArray(collection, Fixtures.nullSafe);
+    }
+
+    @Benchmark
+    public String[] collections_toStringArray() {
+        return ToStringFunction.Collections.toStringArray(collection);
+    }
+
+    @Benchmark
+    public String collections_toString() {
+        return ToStringFunction.Collections.toString(collection);
+    }
+
+    @Benchmark
+    public String collections_toString_headTail() {
+        return ToStringFunction.Collections.toString(prefix, collection, join, suffix, Fixtures.nullSafe,
+                ToStringFunction.Collections.Window.of(8, 8));
+    }
+
+    @Benchmark
+    public StringBuilder appendTo_prefix_join_suffix_map() {
+        buffer.setLength(0);
+        return ToStringFunction.Arrays.appendTo(buffer, prefix, source, join, suffix, Fixtures.nullSafe, 0, size);
+    }
+
+    @Benchmark
+    public StringBuilder appendTo_prefix_join_suffix() {
+        buffer.setLength(0);
+        return ToStringFunction.Arrays.appendTo(buffer, prefix, source, join, suffix, 0, size);
+    }
+
+    @Benchmark
+    public StringWriter appendTo_writer_prefix_join_suffix() throws IOException {
+        writer.getBuffer().setLength(0);
+        return ToStringFunction.Arrays.appendTo(writer, prefix, source, join, suffix, 0, size);
+    }
+
+    /**
+     * Compare against {@link #toString_prefix_join_suffix()}.
+     * */
+    @Benchmark
+    public String template_valueOf() {
+        return valueOfTemplate.render(source);
+    }
+
+    /**
+     * Compare against {@link #toString_prefix_join_suffix_map()}.
+     * */
+    @Benchmark
+    public String template_map() {
+        return mapTemplate.render(source);
+    }
+
+    /**
+     * Compare against {@link #toString_prefix_join_suffix()} followed by {@link String#getBytes}.
+     * */
+    @Benchmark
+    public ByteBuffer utf8_byteBuffer_prefix_join_suffix() throws IOException {
+        bytes.clear();
+        bytesSink.append(prefix, source, join, suffix, ToStringFunction.Arrays.ViewRange.all);
+        return bytes;
+    }
+
+    @Benchmark
+    public ToStringFunction.Utf8.Sink utf8_stream_template() throws IOException {
+        streamSink.append(valueOfTemplate, source).flush();
+        return streamSink;
+    }
+
+    @Benchmark
+    public byte[] reference_getBytes() {
+        return ToStringFunction.Arrays.toString(prefix, source, join, suffix, 0, size).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public String parallelToString_prefix_join_suffix_map() {
+        return ToStringFunction.Arrays.parallelToString(prefix, source, join, suffix, Fixtures.nullSafe, 0, size);
+    }
+
+    /**
+     * Reference for {@link #toString_prefix_join_suffix()}: the same loop over a default-capacity {@link StringBuilder},
+     * so that the allocation rate of the presized path can be compared against the grow-and-copy one.
+     * */
+    @Benchmark
+    public String reference_unsized() {
+        StringBuilder sb = new StringBuilder(prefix);
+        Object next;
+        sb.append((next = source[0]) == null ? ToStringFunction.Arrays.nullS : next.toString());
+        for (int i = 1; i < size; i++) {
+            sb.append(join)
+                    .append((next = source[i]) == null ? ToStringFunction.Arrays.nullS : next.toString());
+        }
+        return sb.append(suffix).toString();
+    }
+}
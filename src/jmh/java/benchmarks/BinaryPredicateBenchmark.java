@@ -0,0 +1,138 @@
+package benchmarks;
+
+import interfaces.BinaryPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiPredicate;
+
+/**
+ * Cost of composing and evaluating {@link BinaryPredicate}s.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class BinaryPredicateBenchmark {
+
+    final BinaryPredicate<Object> equal = BinaryPredicate.equalFun();
+    final Object next = "next", prev = "prev";
+
+    static final int length = 4096;
+    /**
+     * Equal contents on distinct instances, the worst case for an equality test.
+     * */
+    final int[] ints = Fixtures.ints(length), intsCopy = ints.clone();
+    final int[] intsChanged = changed(ints);
+    final Integer[] boxed = box(ints), boxedCopy = boxed.clone();
+
+    /**
+     * A single change in the middle of the array.
+     * */
+    static int[] changed(int[] ints) {
+        int[] res = ints.clone();
+        res[res.length / 2]++;
+        return res;
+    }
+
+    static Integer[] box(int[] ints) {
+        Integer[] res = new Integer[ints.length];
+        for (int i = 0; i < ints.length; i++) res[i] = ints[i];
+        return res;
+    }
+
+    /**
+     * Distinct large values of equal length, so that {@link String#equals} cannot bail out on length.
+     * */
+    final String[] payloads = {"a".repeat(1 << 16), "b".repeat(1 << 16)};
+    final BinaryPredicate<String> hashGated = BinaryPredicate.hashGated(String::hashCode, BinaryPredicate.equalFun());
+    int turn;
+
+    static final int depth = 8;
+    final BinaryPredicate<Object> chain = chain();
+    final BiPredicate<Object, Object> nested = nested();
+
+    static BinaryPredicate<Object> test(int i) {
+        return (next, prev) -> next.hashCode() != prev.hashCode() + i;
+    }
+
+    static BinaryPredicate<Object> chain() {
+        BinaryPredicate<Object> res = test(0);
+        for (int i = 1; i < depth; i++) res = res.and(test(i));
+        return res;
+    }
+
+    /**
+     * Reference: the nested lambdas returned by {@link BiPredicate#and(BiPredicate)}.
+     * */
+    static BiPredicate<Object, Object> nested() {
+        BiPredicate<Object, Object> res = test(0);
+        for (int i = 1; i < depth; i++) res = res.and(test(i)::test);
+        return res;
+    }
+
+    /**
+     * Per-subscription composition, allocates only the returned instance: nothing is captured until the test fails.
+     * */
+    @Benchmark
+    public BinaryPredicate<Object> negate() {
+        return equal.negate();
+    }
+
+    @Benchmark
+    public boolean negate_test() {
+        return equal.negate().test(next, prev);
+    }
+
+    @Benchmark
+    public boolean and_flattened() {
+        return chain.test(next, prev);
+    }
+
+    @Benchmark
+    public boolean and_nested() {
+        return nested.test(next, prev);
+    }
+
+    @Benchmark
+    public boolean intArrEquals() {
+        return BinaryPredicate.intArrEquals.test(ints, intsCopy);
+    }
+
+    /**
+     * Reference for {@link #intArrEquals()}: the boxed fallback over {@link BinaryPredicate#arrEquals}.
+     * */
+    @Benchmark
+    public boolean arrEquals_boxed() {
+        return BinaryPredicate.<Integer>arrayEquals().test(boxed, boxedCopy);
+    }
+
+    @Benchmark
+    public BinaryPredicate.ArrayDiff.Dirty intArrDiff() {
+        return BinaryPredicate.intArrDiff.diff(intsChanged, ints);
+    }
+
+    @Benchmark
+    public BinaryPredicate.ArrayDiff.Dirty intArrDiff_blocks() {
+        return BinaryPredicate.intArrDiff.diff(intsChanged, ints, 64);
+    }
+
+    /**
+     * Alternates between two distinct payloads, as a stream of genuine changes.
+     * */
+    @Benchmark
+    public boolean hashGated_change() {
+        int t = turn ^= 1;
+        return hashGated.test(payloads[t], payloads[t ^ 1]);
+    }
+
+    @Benchmark
+    public boolean equalFun_change() {
+        int t = turn ^= 1;
+        return BinaryPredicate.<String>equalFun().test(payloads[t], payloads[t ^ 1]);
+    }
+}
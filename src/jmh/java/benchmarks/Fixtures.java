@@ -0,0 +1,117 @@
+package benchmarks;
+
+import interfaces.ToStringFunction;
+
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic input generators shared by every benchmark of this source set.
+ * <p> A fixed seed is used so that two runs over the same parameters format the exact same inputs.
+ * */
+final class Fixtures {
+    private Fixtures() {}
+
+    static final long SEED = 0x5EED_1E55L;
+
+    /**
+     * Element flavours used to exercise the different {@link Object#toString()} widths and costs.
+     * */
+    enum ElementType {
+        /**
+         * Boxed small integers, short and cheap {@link Integer#toString()}.
+         * */
+        INTEGER {
+            @Override
+            Object next(SplittableRandom r) {
+                return r.nextInt(-1_000_000, 1_000_000);
+            }
+        },
+        /**
+         * Pre-built {@link String}s, where {@link Object#toString()} is the identity.
+         * */
+        STRING {
+            @Override
+            Object next(SplittableRandom r) {
+                return "value_".concat(Long.toHexString(r.nextLong()));
+            }
+        },
+        /**
+         * Boxed doubles, the most expensive of the {@link String#valueOf} conversions.
+         * */
+        DOUBLE {
+            @Override
+            Object next(SplittableRandom r) {
+                return r.nextDouble() * 1_000;
+            }
+        },
+        /**
+         * A composite object whose {@link Object#toString()} concatenates several fields.
+         * */
+        OBJECT {
+            @Override
+            Object next(SplittableRandom r) {
+                return new Point(r.nextInt(1024), r.nextInt(1024));
+            }
+        };
+
+        abstract Object next(SplittableRandom r);
+    }
+
+    record Point(int x, int y) {}
+
+    /**
+     * @param nullDensity the probability [0, 1] of any cell being {@code null}.
+     * */
+    static Object[] objects(ElementType type, int size, double nullDensity) {
+        SplittableRandom r = new SplittableRandom(SEED);
+        Object[] res = new Object[size];
+        for (int i = 0; i < size; i++) {
+            res[i] = nullDensity > 0 && r.nextDouble() < nullDensity ? null : type.next(r);
+        }
+        return res;
+    }
+
+    static String[] strings(int size, double nullDensity) {
+        SplittableRandom r = new SplittableRandom(SEED);
+        String[] res = new String[size];
+        for (int i = 0; i < size; i++) {
+            res[i] = nullDensity > 0 && r.nextDouble() < nullDensity ? null
+                    : (String) ElementType.STRING.next(r);
+        }
+        return res;
+    }
+
+    static int[] ints(int size) {
+        return new SplittableRandom(SEED).ints(size).toArray();
+    }
+
+    static long[] longs(int size) {
+        return new SplittableRandom(SEED).longs(size).toArray();
+    }
+
+    static double[] doubles(int size) {
+        return new SplittableRandom(SEED).doubles(size).toArray();
+    }
+
+    static double[][] doubles(int rows, int columns) {
+        SplittableRandom r = new SplittableRandom(SEED);
+        double[][] res = new double[rows][];
+        for (int i = 0; i < rows; i++) {
+            res[i] = r.doubles(columns).toArray();
+        }
+        return res;
+    }
+
+    static Object[][] objects(ElementType type, int rows, int columns, double nullDensity) {
+        Object[][] res = new Object[rows][];
+        for (int i = 0; i < rows; i++) {
+            res[i] = objects(type, columns, nullDensity);
+        }
+        return res;
+    }
+
+    /**
+     * Null-safe mapping that mirrors what logging call sites usually pass as the {@code map} parameter.
+     * */
+    static final ToStringFunction<Object> nullSafe = o -> o == null ? ToStringFunction.Arrays.nullS : o.toString();
+}
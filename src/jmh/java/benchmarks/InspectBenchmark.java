@@ -0,0 +1,140 @@
+package benchmarks;
+
+import interfaces.ToStringFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Covers every {@code ToStringFunction.inspect(...)} overload, the primitive {@link ToStringFunction.Arrays} overloads
+ * and {@link ToStringFunction#toQueryString(long[])}.
+ * <p> Matrices are square, with {@code sqrt(size)} rows and columns.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InspectBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"0.0", "0.5"})
+    double nullDensity;
+
+    @Param({"INTEGER", "OBJECT"})
+    Fixtures.ElementType elementType;
+
+    Object[] objects;
+    int[] ints;
+    long[] longs;
+    double[] doubles;
+    double[][] doubleMatrix;
+    Object[][] objectMatrix;
+    int[][] intMatrix;
+    final Writer sink = Writer.nullWriter();
+
+    @Setup
+    public void setup() {
+        objects = Fixtures.objects(elementType, size, nullDensity);
+        ints = Fixtures.ints(size);
+        longs = Fixtures.longs(size);
+        doubles = Fixtures.doubles(size);
+        int side = (int) Math.sqrt(size);
+        doubleMatrix = Fixtures.doubles(side, side);
+        objectMatrix = Fixtures.objects(elementType, side, side, nullDensity);
+        intMatrix = new int[side][];
+        for (int i = 0; i < side; i++) intMatrix[i] = Fixtures.ints(side);
+    }
+
+    @Benchmark
+    public String inspect_objects() {
+        return ToStringFunction.inspect(objects);
+    }
+
+    @Benchmark
+    public String inspect_objects_map() {
+        return ToStringFunction.inspect(objects, Fixtures.nullSafe);
+    }
+
+    @Benchmark
+    public String inspect_ints() {
+        return ToStringFunction.inspect(ints);
+    }
+
+    @Benchmark
+    public String inspect_longs() {
+        return ToStringFunction.inspect(longs);
+    }
+
+    @Benchmark
+    public String inspect_doubles() {
+        return ToStringFunction.inspect(doubles);
+    }
+
+    @Benchmark
+    public String inspect_doubleMatrix() {
+        return ToStringFunction.inspect(doubleMatrix);
+    }
+
+    @Benchmark
+    public String inspect_objectMatrix() {
+        return ToStringFunction.inspect(objectMatrix);
+    }
+
+    /**
+     * Cost should stay flat across {@code size}.
+     * */
+    @Benchmark
+    public String inspect_objectMatrix_budget() {
+        return ToStringFunction.inspect(objectMatrix, ToStringFunction.Budget.of(4096, 256));
+    }
+
+    @Benchmark
+    public String arrays_toString_budget() {
+        return ToStringFunction.Arrays.toString(objects, ToStringFunction.Budget.of(4096, 256));
+    }
+
+    /**
+     * Compare against {@link #inspect_doubleMatrix()}, allocation should stay flat across {@code size}.
+     * */
+    @Benchmark
+    public Writer inspect_doubleMatrix_streaming() throws IOException {
+        return ToStringFunction.inspect(sink, doubleMatrix,
+                ToStringFunction.Arrays.ViewRange.all, ToStringFunction.Arrays.ViewRange.all);
+    }
+
+    @Benchmark
+    public Writer inspect_intMatrix_streaming() throws IOException {
+        return ToStringFunction.inspect(sink, intMatrix,
+                ToStringFunction.Arrays.ViewRange.all, ToStringFunction.Arrays.ViewRange.all);
+    }
+
+    @Benchmark
+    public String toQueryString() {
+        return ToStringFunction.toQueryString(longs);
+    }
+
+    @Benchmark
+    public String arrays_toString_ints() {
+        return ToStringFunction.Arrays.toString(ints, ", ", 0, size);
+    }
+
+    @Benchmark
+    public String arrays_toString_longs() {
+        return ToStringFunction.Arrays.toString(longs, ", ", 0, size);
+    }
+
+    @Benchmark
+    public String arrays_toString_doubles() {
+        return ToStringFunction.Arrays.toString(doubles, ", ", 0, size);
+    }
+}
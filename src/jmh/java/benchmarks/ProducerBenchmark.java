@@ -0,0 +1,111 @@
+package benchmarks;
+
+import interfaces.Producer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * {@link Producer.Broadcast} against a synchronized list and a {@link CopyOnWriteArrayList} of subscribers.
+ * <p> {@code emit_*} measure delivery to {@code subscribers} consumers,
+ * {@code churn_*} a register/unregister pair on top of them, both under 4 threads.
+ * <p> {@code emit_conflating} hands each value to a {@link Producer.Conflating} drained by a single thread,
+ * whose emitters only pay for the slot swap while the drain keeps up with what it can.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Threads(4)
+public class ProducerBenchmark {
+
+    @Param({"1", "8", "64"})
+    int subscribers;
+
+    Producer.Broadcast<Object> broadcast;
+    List<Consumer<Object>> synchronizedList;
+    CopyOnWriteArrayList<Consumer<Object>> copyOnWrite;
+    ExecutorService drainer;
+    Producer.Conflating<Object, Object> conflating;
+    final Object value = new Object();
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        broadcast = Producer.broadcast();
+        synchronizedList = Collections.synchronizedList(new ArrayList<>());
+        copyOnWrite = new CopyOnWriteArrayList<>();
+        drainer = Executors.newSingleThreadExecutor();
+        conflating = Producer.conflating(drainer);
+        for (int i = 0; i < subscribers; i++) {
+            Consumer<Object> consumer = blackhole::consume;
+            broadcast.register(consumer);
+            synchronizedList.add(consumer);
+            copyOnWrite.add(consumer);
+            conflating.register(consumer);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        drainer.shutdownNow();
+    }
+
+    @Benchmark
+    public void emit_broadcast() {
+        broadcast.accept(value);
+    }
+
+    @Benchmark
+    public void emit_synchronizedList() {
+        synchronized (synchronizedList) {
+            for (Consumer<Object> consumer : synchronizedList) consumer.accept(value);
+        }
+    }
+
+    @Benchmark
+    public void emit_copyOnWrite() {
+        for (Consumer<Object> consumer : copyOnWrite) consumer.accept(value);
+    }
+
+    @Benchmark
+    public void emit_conflating() {
+        conflating.accept(value);
+    }
+
+    @Benchmark
+    public boolean churn_broadcast() {
+        Consumer<Object> consumer = o -> value.hashCode();
+        broadcast.register(consumer);
+        return broadcast.unregister(consumer);
+    }
+
+    @Benchmark
+    public boolean churn_synchronizedList() {
+        Consumer<Object> consumer = o -> value.hashCode();
+        synchronizedList.add(consumer);
+        return synchronizedList.remove(consumer);
+    }
+
+    @Benchmark
+    public boolean churn_copyOnWrite() {
+        Consumer<Object> consumer = o -> value.hashCode();
+        copyOnWrite.add(consumer);
+        return copyOnWrite.remove(consumer);
+    }
+}
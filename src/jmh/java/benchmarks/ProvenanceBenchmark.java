@@ -0,0 +1,81 @@
+package benchmarks;
+
+import interfaces.ToStringFunction.StackPrinter.Provenance;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Cost of capturing the provenance of a wrap site, as done by {@code Functions.exceptional(...)}, on non-failing paths.
+ * <p> {@code stackDepth} adds that many frames below the capture site.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProvenanceBenchmark {
+
+    @Param({"8", "64", "256"})
+    int stackDepth;
+
+    final Provenance.Mode
+            oneIn64 = Provenance.Mode.sampled(Provenance.Mode.walker, Provenance.Sampler.oneIn(64))
+            , perSecond = Provenance.Mode.sampled(Provenance.Mode.walker, Provenance.Sampler.perSecond(100))
+            , firstPerSite = Provenance.Mode.sampled(Provenance.Mode.walker, Provenance.Sampler.firstPerSite(4));
+
+    static Object deep(int depth, Supplier<Object> capture) {
+        return depth == 0 ? capture.get() : deep(depth - 1, capture);
+    }
+
+    /**
+     * Reference: the eager capture used before {@link Provenance}.
+     * */
+    @Benchmark
+    public Object threadGetStackTrace() {
+        return deep(stackDepth, () -> Thread.currentThread().getStackTrace());
+    }
+
+    @Benchmark
+    public Object backtrace() {
+        return deep(stackDepth, () -> Provenance.capture(Provenance.Mode.backtrace));
+    }
+
+    @Benchmark
+    public Object walker() {
+        return deep(stackDepth, () -> Provenance.capture(Provenance.Mode.walker));
+    }
+
+    /**
+     * Capture plus render, the cost paid on failing paths.
+     * */
+    @Benchmark
+    public String backtrace_render() {
+        return ((Provenance) deep(stackDepth, () -> Provenance.capture(Provenance.Mode.backtrace))).get();
+    }
+
+    @Benchmark
+    public String walker_render() {
+        return ((Provenance) deep(stackDepth, () -> Provenance.capture(Provenance.Mode.walker))).get();
+    }
+
+    @Benchmark
+    public Object sampled_oneIn64() {
+        return deep(stackDepth, () -> Provenance.capture(oneIn64));
+    }
+
+    @Benchmark
+    public Object sampled_perSecond() {
+        return deep(stackDepth, () -> Provenance.capture(perSecond));
+    }
+
+    @Benchmark
+    public Object sampled_firstPerSite() {
+        return deep(stackDepth, () -> Provenance.capture(firstPerSite));
+    }
+}
@@ -0,0 +1,97 @@
+package benchmarks;
+
+import interfaces.ToStringFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Covers the {@link ToStringFunction.Arrays.ViewRange} overloads and the {@link ToStringFunction.StackPrinter#PROV} formatter.
+ * <p> {@code range} selects how the {@link ToStringFunction.Arrays.ViewRange} is obtained,
+ * the {@code *_fresh} variants build the range on every call, mimicking per-call-site construction.
+ * */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ViewRangeBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    int size;
+
+    @Param({"0.0", "0.5"})
+    double nullDensity;
+
+    @Param({"INTEGER", "OBJECT"})
+    Fixtures.ElementType elementType;
+
+    @Param({"all", "first", "last", "limit", "window", "single"})
+    String range;
+
+    Object[] source;
+    StackTraceElement[] stack;
+    ToStringFunction.Arrays.ViewRange viewRange;
+    final ToStringFunction.StackPrinter cached = ToStringFunction.StackPrinter.PROV.cached(1024);
+
+    @Setup
+    public void setup() {
+        source = Fixtures.objects(elementType, size, nullDensity);
+        stack = stack(Math.min(size, 256));
+        viewRange = create(range, size);
+    }
+
+    static ToStringFunction.Arrays.ViewRange create(String kind, int size) {
+        return switch (kind) {
+            case "all" -> ToStringFunction.Arrays.ViewRange.all;
+            case "first" -> ToStringFunction.Arrays.ViewRange.first;
+            case "last" -> ToStringFunction.Arrays.ViewRange.last;
+            case "limit" -> ToStringFunction.Arrays.ViewRange.limit(8, ToStringFunction.Arrays.ViewRange.Limit.toFirst);
+            case "window" -> ToStringFunction.Arrays.ViewRange.window(size / 4, size / 2);
+            case "single" -> ToStringFunction.Arrays.ViewRange.single(size / 2);
+            default -> throw new IllegalArgumentException(kind);
+        };
+    }
+
+    static StackTraceElement[] stack(int depth) {
+        StackTraceElement[] res = new StackTraceElement[depth];
+        for (int i = 0; i < depth; i++) {
+            res[i] = new StackTraceElement(
+                    "benchmarks.Frame" + (i % 16), "call" + i, "Frame" + (i % 16) + ".java", i + 1);
+        }
+        return res;
+    }
+
+    @Benchmark
+    public String toString_viewRange() {
+        return ToStringFunction.Arrays.toString(source, viewRange);
+    }
+
+    @Benchmark
+    public String toString_viewRange_fresh() {
+        return ToStringFunction.Arrays.toString(source, create(range, size));
+    }
+
+    @Benchmark
+    public String stackPrinter_prov() {
+        return ToStringFunction.StackPrinter.PROV.toString(stack, viewRange);
+    }
+
+    @Benchmark
+    public String stackPrinter_prov_fresh() {
+        return ToStringFunction.StackPrinter.PROV.toString(stack, create(range, size));
+    }
+
+    /**
+     * Steady state of an error storm: the same stack rendered again and again.
+     * */
+    @Benchmark
+    public String stackPrinter_cached() {
+        return cached.toString(stack, viewRange);
+    }
+}
@@ -4,6 +4,8 @@ import java.util.Arrays;
 import java.util.Objects;
 import java.util.function.BiPredicate;
 import java.util.function.Predicate;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
 
 /**
  * Interface that takes 2 values of the same type and returns a boolean value.
@@ -62,19 +64,178 @@ public interface BinaryPredicate<T> extends BiPredicate<T, T> {
         };
     }
 
+    /**
+     * Construction captures nothing and allocates only the returned instance, whose {@link #negate()} returns back this test.
+     * <p> Failures of this test are rethrown as an {@link IllegalStateException} whose message is the {@link ToStringFunction.StackPrinter.Provenance}
+     * of the failing call, captured at that moment with the global {@link ToStringFunction.StackPrinter.Provenance.Mode}.
+     * */
     @Override
     default BinaryPredicate<T> negate() {
-        final RuntimeException e = new RuntimeException();
-        return (next, prev) -> {
-            try {
-                return !test(next, prev);
-            } catch (Exception ex) {
-                e.initCause(ex);
-                throw e;
+        final BinaryPredicate<T> source = this;
+        return new BinaryPredicate<>() {
+            @Override
+            public boolean test(T next, T prev) {
+                try {
+                    return !source.test(next, prev);
+                } catch (Exception ex) {
+                    throw new IllegalStateException(ToStringFunction.StackPrinter.Provenance.capture().get(), ex);
+                }
+            }
+
+            @Override
+            public BinaryPredicate<T> negate() {
+                return source;
+            }
+
+            @Override
+            public String toString() {
+                return "Negated{" + source + "}";
             }
         };
     }
 
+    /**
+     * Folded at composition time:
+     * <ul>
+     *     <li>
+     *         {@code x.and(alwaysFalse)} and {@code alwaysFalse.and(x)} return the always false test.
+     *     </li>
+     *     <li>
+     *         {@code x.and(alwaysTrue)}, {@code alwaysTrue.and(x)} and {@code x.and(x)} return {@code x}.
+     *     </li>
+     *     <li>
+     *         Any other pair is flattened, along with the conjunctions it contains, into a single array-backed {@link Conjunction}.
+     *     </li>
+     * </ul>
+     * */
+    @Override
+    default BinaryPredicate<T> and(BiPredicate<? super T, ? super T> other) {
+        BinaryPredicate<T> that = of(other);
+        if (isAlwaysFalse() || that.isAlwaysTrue() || that == this) return this;
+        if (isAlwaysTrue() || that.isAlwaysFalse()) return that;
+        return new Conjunction<>(Conjunction.concat(Conjunction.flatten(this), Conjunction.flatten(that)));
+    }
+
+    /**
+     * Folded at composition time, with the same rules as {@link #and(BiPredicate)} in their dual form.
+     * @see Disjunction
+     * */
+    @Override
+    default BinaryPredicate<T> or(BiPredicate<? super T, ? super T> other) {
+        BinaryPredicate<T> that = of(other);
+        if (isAlwaysTrue() || that.isAlwaysFalse() || that == this) return this;
+        if (isAlwaysFalse() || that.isAlwaysTrue()) return that;
+        return new Disjunction<>(Conjunction.concat(Disjunction.flatten(this), Disjunction.flatten(that)));
+    }
+
+    /**
+     * Folded at composition time: {@code x.xor(alwaysFalse)} returns {@code x}, and {@code x.xor(alwaysTrue)} returns {@code x.negate()}.
+     * */
+    default BinaryPredicate<T> xor(BiPredicate<? super T, ? super T> other) {
+        BinaryPredicate<T> that = of(other);
+        if (that.isAlwaysFalse()) return this;
+        if (isAlwaysFalse()) return that;
+        if (that.isAlwaysTrue()) return negate();
+        if (isAlwaysTrue()) return that.negate();
+        return (next, prev) -> test(next, prev) ^ that.test(next, prev);
+    }
+
+    /**
+     * Views a {@link BiPredicate} as a {@link BinaryPredicate}, returning it as is when it already is one.
+     * */
+    @SuppressWarnings("unchecked")
+    private static<T> BinaryPredicate<T> of(BiPredicate<? super T, ? super T> predicate) {
+        Objects.requireNonNull(predicate, "other");
+        return predicate instanceof BinaryPredicate<?> binary ?
+                (BinaryPredicate<T>) binary
+                : predicate::test;
+    }
+
+    /**
+     * Array-backed conjunction built by {@link #and(BiPredicate)}, evaluated in order and short-circuited on the first {@code false}.
+     * */
+    final class Conjunction<T> implements BinaryPredicate<T> {
+        private final BinaryPredicate<T>[] tests;
+
+        private Conjunction(BinaryPredicate<T>[] tests) {
+            this.tests = tests;
+        }
+
+        @Override
+        public boolean test(T next, T prev) {
+            for (BinaryPredicate<T> test : tests) {
+                if (!test.test(next, prev)) return false;
+            }
+            return true;
+        }
+
+        /**
+         * @return the amount of tests evaluated by this conjunction.
+         * */
+        public int size() {
+            return tests.length;
+        }
+
+        static<T> BinaryPredicate<T>[] flatten(BinaryPredicate<T> test) {
+            return test instanceof Conjunction<T> conjunction ? conjunction.tests : single(test);
+        }
+
+        /**
+         * @return a one-element array holding {@code test}.
+         * */
+        static<T> BinaryPredicate<T>[] single(BinaryPredicate<T> test) {
+            @SuppressWarnings("unchecked")
+            BinaryPredicate<T>[] res = (BinaryPredicate<T>[]) new BinaryPredicate<?>[]{test};
+            return res;
+        }
+
+        static<T> BinaryPredicate<T>[] concat(BinaryPredicate<T>[] left, BinaryPredicate<T>[] right) {
+            BinaryPredicate<T>[] res = Arrays.copyOf(left, left.length + right.length);
+            System.arraycopy(right, 0, res, left.length, right.length);
+            return res;
+        }
+
+        @Override
+        public String toString() {
+            return "Conjunction" + Arrays.toString(tests);
+        }
+    }
+
+    /**
+     * Array-backed disjunction built by {@link #or(BiPredicate)}, evaluated in order and short-circuited on the first {@code true}.
+     * */
+    final class Disjunction<T> implements BinaryPredicate<T> {
+        private final BinaryPredicate<T>[] tests;
+
+        private Disjunction(BinaryPredicate<T>[] tests) {
+            this.tests = tests;
+        }
+
+        @Override
+        public boolean test(T next, T prev) {
+            for (BinaryPredicate<T> test : tests) {
+                if (test.test(next, prev)) return true;
+            }
+            return false;
+        }
+
+        /**
+         * @return the amount of tests evaluated by this disjunction.
+         * */
+        public int size() {
+            return tests.length;
+        }
+
+        static<T> BinaryPredicate<T>[] flatten(BinaryPredicate<T> test) {
+            return test instanceof Disjunction<T> disjunction ? disjunction.tests : Conjunction.single(test);
+        }
+
+        @Override
+        public String toString() {
+            return "Disjunction" + Arrays.toString(tests);
+        }
+    }
+
     BinaryPredicate<?>
             defaultFalse = new BinaryPredicate<>() {
         @Override
@@ -87,6 +248,11 @@ public interface BinaryPredicate<T> extends BiPredicate<T, T> {
             return true;
         }
 
+        @Override
+        public BinaryPredicate<Object> negate() {
+            return binaryAlwaysTrue();
+        }
+
         @Override
         public String toString() {
             return super.toString() + "DEFAULT" + ",\n" +
@@ -114,6 +280,11 @@ public interface BinaryPredicate<T> extends BiPredicate<T, T> {
             return true;
         }
 
+        @Override
+        public BinaryPredicate<Object> negate() {
+            return binaryAlwaysFalse();
+        }
+
         @Override
         public String toString() {
             return super.toString() + "DEFAULT" + ",\n" +
@@ -167,9 +338,41 @@ public interface BinaryPredicate<T> extends BiPredicate<T, T> {
      * */
     ArrEquals<?> arrEquals = (ArrEquals<Object>) Arrays::equals;
     /**
-     * lambda instance for {@link Arrays#equals(long[], long[])}
+     * lambda instance for {@link Arrays#equals(long[], long[])}, an {@link ArrayEquals} under its published type.
+     * */
+    BinaryPredicate<long[]> longArrEquals = (ArrayEquals<long[]>) Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(int[], int[])}
+     * */
+    ArrayEquals<int[]> intArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(double[], double[])}
+     * */
+    ArrayEquals<double[]> doubleArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(byte[], byte[])}
+     * */
+    ArrayEquals<byte[]> byteArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(short[], short[])}
+     * */
+    ArrayEquals<short[]> shortArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(char[], char[])}
+     * */
+    ArrayEquals<char[]> charArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(float[], float[])}
+     * */
+    ArrayEquals<float[]> floatArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#equals(boolean[], boolean[])}
+     * */
+    ArrayEquals<boolean[]> booleanArrEquals = Arrays::equals;
+    /**
+     * lambda instance for {@link Arrays#deepEquals(Object[], Object[])}, nested primitive arrays are compared by {@link Arrays#equals}.
      * */
-    BinaryPredicate<long[]> longArrEquals = Arrays::equals;
+    ArrayEquals<Object[]> deepArrEquals = Arrays::deepEquals;
     /**
      * lambda instance for {@link Objects#equals(Object, Object)}
      * */
@@ -184,13 +387,1079 @@ public interface BinaryPredicate<T> extends BiPredicate<T, T> {
         return (ArrEquals<S>) arrEquals;
     }
 
+    /**
+     * @return true if this test is {@link #arrEquals} or any of the {@link ArrayEquals} tests.
+     * */
     default boolean isArrayEquals() {
         return this == arrEquals;
     }
 
+    /**
+     * Array equality tests, recognized by {@link #isArrayEquals()}.
+     * <p> The instances of this interface resolve to {@link Arrays#equals} and {@link Arrays#mismatch},
+     * intrinsified by the JVM, and short-circuit on identity and length before comparing contents.
+     * */
+    @FunctionalInterface
+    interface ArrayEquals<A> extends BinaryPredicate<A> {
+        @Override
+        default boolean isArrayEquals() {
+            return true;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static<S> ArrayEquals<S[]> deepArrayEquals() {
+        return (ArrayEquals<S[]>) (ArrayEquals<?>) deepArrEquals;
+    }
+
+    /**
+     * Range-restricted variant of {@link #longArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<long[]> longArrEquals(int from, int to) {
+        return rangeEquals(longArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #intArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<int[]> intArrEquals(int from, int to) {
+        return rangeEquals(intArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #doubleArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<double[]> doubleArrEquals(int from, int to) {
+        return rangeEquals(doubleArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #byteArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<byte[]> byteArrEquals(int from, int to) {
+        return rangeEquals(byteArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #shortArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<short[]> shortArrEquals(int from, int to) {
+        return rangeEquals(shortArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #charArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<char[]> charArrEquals(int from, int to) {
+        return rangeEquals(charArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #floatArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<float[]> floatArrEquals(int from, int to) {
+        return rangeEquals(floatArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #booleanArrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static ArrayEquals<boolean[]> booleanArrEquals(int from, int to) {
+        return rangeEquals(booleanArrDiff, from, to);
+    }
+
+    /**
+     * Range-restricted variant of {@link #arrEquals}, comparing only the {@code [from, to)} span of both arrays.
+     * <p> {@code to} is truncated at each array's length, arrays whose truncated spans differ in length are not equal.
+     * */
+    static<S> ArrayEquals<S[]> arrayEquals(int from, int to) {
+        return rangeEquals(arrayDiff(), from, to);
+    }
+
+    private static<A> ArrayEquals<A> rangeEquals(ArrayDiff<A> diff, int from, int to) {
+        if (from < 0 || to < from) throw new IllegalArgumentException("Invalid range [" + from + ", " + to + ")");
+        return (next, prev) -> diff.rangeEquals(next, prev, from, to);
+    }
+
+    /**
+     * {@link ArrayDiff} of {@code long[]}.
+     * */
+    ArrayDiff<long[]> longArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code int[]}.
+     * */
+    ArrayDiff<int[]> intArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code double[]}.
+     * */
+    ArrayDiff<double[]> doubleArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code byte[]}.
+     * */
+    ArrayDiff<byte[]> byteArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code short[]}.
+     * */
+    ArrayDiff<short[]> shortArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code char[]}.
+     * */
+    ArrayDiff<char[]> charArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code float[]}.
+     * */
+    ArrayDiff<float[]> floatArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code boolean[]}.
+     * */
+    ArrayDiff<boolean[]> booleanArrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+    /**
+     * {@link ArrayDiff} of {@code Object[]}.
+     * */
+    ArrayDiff<Object[]> arrDiff = new ArrayDiff<>(
+            a -> a.length, (next, prev, from, to) -> Arrays.mismatch(next, from, to, prev, from, to));
+
+    @SuppressWarnings("unchecked")
+    static<S> ArrayDiff<S[]> arrayDiff() {
+        return (ArrayDiff<S[]>) (ArrayDiff<?>) arrDiff;
+    }
+
+    /**
+     * Change detection over array snapshots, that besides {@link #test(Object, Object)} reports where both snapshots differ,
+     * so that consumers can re-render or re-send only the changed slice.
+     * <ul>
+     *     <li>
+     *         {@link #diff(Object, Object)} resolves the first and last mismatching indices.
+     *     </li>
+     *     <li>
+     *         {@link #diff(Object, Object, int)} additionally marks every dirty block of {@code blockSize} elements in a bitmap.
+     *     </li>
+     * </ul>
+     * <p> Both follow the {@code (next, prev)} ordering of {@link #test(Object, Object)}, indices refer to {@code next},
+     * and every index past the shorter array is dirty, a {@code null} snapshot being an empty one.
+     * <p> Comparisons run block by block over {@link Arrays#mismatch}.
+     * <p> {@link #diff(Object, Object)} is the gate: {@link Dirty#isEmpty()} is its equality result,
+     * an equal pair costs the single scan {@link #test(Object, Object)} would, and only an unequal one is scanned further for its last mismatch.
+     * Calling {@link #test(Object, Object)} first scans changed snapshots twice.
+     * */
+    final class ArrayDiff<A> implements ArrayEquals<A> {
+
+        @FunctionalInterface
+        interface Mismatch<A> {
+            /**
+             * @return the relative index of the first mismatch within {@code [from, to)} of both arrays, or -1.
+             * */
+            int mismatch(A next, A prev, int from, int to);
+        }
+
+        /**
+         * Block size used to locate the last mismatch.
+         * */
+        private static final int scanBlock = 1 << 8;
+
+        private final ToIntFunction<A> length;
+        private final Mismatch<A> mismatch;
+
+        private ArrayDiff(ToIntFunction<A> length, Mismatch<A> mismatch) {
+            this.length = length;
+            this.mismatch = mismatch;
+        }
+
+        @Override
+        public boolean test(A next, A prev) {
+            if (next == prev) return true;
+            if (next == null || prev == null) return false;
+            int length = this.length.applyAsInt(next);
+            return length == this.length.applyAsInt(prev) && mismatch.mismatch(next, prev, 0, length) < 0;
+        }
+
+        /**
+         * @return {@link Dirty#none} if both snapshots are equal, the span between the first and last mismatches otherwise.
+         * */
+        public Dirty diff(A next, A prev) {
+            if (next == prev) return Dirty.none;
+            int nextLength = next == null ? 0 : length.applyAsInt(next)
+                    , prevLength = prev == null ? 0 : length.applyAsInt(prev)
+                    , common = next == null || prev == null ? 0 : Math.min(nextLength, prevLength)
+                    , max = Math.max(nextLength, prevLength);
+            int first = firstIn(next, prev, 0, common);
+            if (first < 0) {
+                return common == max ? Dirty.none : new Dirty(common, max - 1, 0, null);
+            }
+            int last = common < max ? max - 1 : lastIn(next, prev, first, common);
+            return new Dirty(first, last, 0, null);
+        }
+
+        /**
+         * @param blockSize the amount of elements accounted by each bit of {@link Dirty#isDirty(int)}.
+         * */
+        public Dirty diff(A next, A prev, int blockSize) {
+            if (blockSize <= 0) throw new IllegalArgumentException("blockSize must be positive, was " + blockSize);
+            if (next == prev) return Dirty.none;
+            int nextLength = next == null ? 0 : length.applyAsInt(next)
+                    , prevLength = prev == null ? 0 : length.applyAsInt(prev)
+                    , common = next == null || prev == null ? 0 : Math.min(nextLength, prevLength)
+                    , max = Math.max(nextLength, prevLength);
+            int blocks = (int) (((long) max + blockSize - 1) / blockSize);
+            long[] bitmap = new long[(blocks + 63) >>> 6];
+            int first = -1, last = -1;
+            for (int block = 0; block < blocks; block++) {
+                int from = block * blockSize, to = (int) Math.min((long) from + blockSize, max);
+                int found;
+                if (from >= common) {
+                    found = from;
+                } else {
+                    found = firstIn(next, prev, from, Math.min(to, common));
+                    if (found < 0 && to > common) found = common;
+                }
+                if (found < 0) continue;
+                bitmap[block >>> 6] |= 1L << block;
+                if (first < 0) first = found;
+                last = block;
+            }
+            if (first < 0) return Dirty.none;
+            int lastFrom = last * blockSize
+                    , lastTo = (int) Math.min((long) lastFrom + blockSize, max);
+            int lastIndex = lastTo > common ? lastTo - 1 : lastIn(next, prev, Math.max(lastFrom, first), lastTo);
+            return new Dirty(first, lastIndex, blockSize, bitmap);
+        }
+
+        /**
+         * @see BinaryPredicate#intArrEquals(int, int)
+         * */
+        boolean rangeEquals(A next, A prev, int from, int to) {
+            if (next == prev) return true;
+            if (next == null || prev == null) return false;
+            int nextTo = Math.max(from, Math.min(to, length.applyAsInt(next)));
+            if (nextTo != Math.max(from, Math.min(to, length.applyAsInt(prev)))) return false;
+            return nextTo <= from || mismatch.mismatch(next, prev, from, nextTo) < 0;
+        }
+
+        private int firstIn(A next, A prev, int from, int to) {
+            if (from >= to) return -1;
+            int res = mismatch.mismatch(next, prev, from, to);
+            return res < 0 ? -1 : from + res;
+        }
+
+        /**
+         * @param from a known mismatching index.
+         * @return the last mismatching index within {@code [from, to)}.
+         * */
+        private int lastIn(A next, A prev, int from, int to) {
+            for (int blockTo = to; blockTo > from; ) {
+                int blockFrom = Math.max(from, blockTo - scanBlock);
+                int found = firstIn(next, prev, blockFrom, blockTo);
+                if (found >= 0) {
+                    int res = found;
+                    while ((found = firstIn(next, prev, res + 1, blockTo)) >= 0) res = found;
+                    return res;
+                }
+                blockTo = blockFrom;
+            }
+            return from;
+        }
+
+        @Override
+        public String toString() {
+            return "ArrayDiff@".concat(Integer.toString(hashCode()));
+        }
+
+        /**
+         * Where two snapshots differ, as resolved by {@link ArrayDiff}.
+         * */
+        public static final class Dirty {
+            /**
+             * Snapshots are equal.
+             * */
+            public static final Dirty none = new Dirty(-1, -1, 0, null);
+
+            /**
+             * First and last mismatching indices, both inclusive, -1 if none.
+             * */
+            public final int first, last;
+            private final int blockSize;
+            private final long[] bitmap;
+
+            private Dirty(int first, int last, int blockSize, long[] bitmap) {
+                this.first = first;
+                this.last = last;
+                this.blockSize = blockSize;
+                this.bitmap = bitmap;
+            }
+
+            public boolean isEmpty() {
+                return first < 0;
+            }
+
+            /**
+             * @return the amount of elements within {@code [first, last]}.
+             * */
+            public int span() {
+                return first < 0 ? 0 : last - first + 1;
+            }
+
+            /**
+             * @return 0 if no bitmap was resolved.
+             * */
+            public int blockSize() {
+                return blockSize;
+            }
+
+            /**
+             * @return true if the block containing {@code index} holds a mismatch,
+             * or, when no bitmap was resolved, if {@code index} is within {@code [first, last]}.
+             * */
+            public boolean isDirty(int index) {
+                if (first < 0 || index < 0) return false;
+                if (bitmap == null) return index >= first && index <= last;
+                int block = index / blockSize;
+                return block >>> 6 < bitmap.length && (bitmap[block >>> 6] & (1L << block)) != 0;
+            }
+
+            /**
+             * @return the start index of the first dirty block at or after the block containing {@code index}, or -1 if none.
+             * With no bitmap, {@code first} if {@code index <= last}.
+             * */
+            public int nextDirty(int index) {
+                if (first < 0 || index > last) return -1;
+                if (bitmap == null) return index <= first ? first : index;
+                int block = Math.max(index, first) / blockSize;
+                for (int word = block >>> 6; word < bitmap.length; word++) {
+                    long bits = bitmap[word] & (word == block >>> 6 ? -1L << block : -1L);
+                    if (bits != 0) {
+                        int res = ((word << 6) + Long.numberOfTrailingZeros(bits)) * blockSize;
+                        return Math.max(res, first);
+                    }
+                }
+                return -1;
+            }
+
+            @Override
+            public String toString() {
+                return first < 0 ? "Dirty{none}"
+                        : "Dirty{first=" + first + ", last=" + last + (bitmap == null ? "" : ", blockSize=" + blockSize) + "}";
+            }
+        }
+    }
+
     @SuppressWarnings("unchecked")
     static <S> BinaryPredicate<S> equalFun() {
         return (BinaryPredicate<S>) equalFun;
     }
 
+    /**
+     * Opt-in for values carrying a precomputed fingerprint, used by {@link #hashGated(ToLongFunction, BinaryPredicate)}.
+     * <p> Equal values must have equal fingerprints, and an instance should compute its fingerprint at most once.
+     * */
+    interface Fingerprinted {
+        long fingerprint();
+    }
+
+    /**
+     * Equality test for large immutable values where most updates are genuine changes:
+     * mismatching fingerprints return {@code false} immediately, and {@code equality} only runs on fingerprint collisions.
+     * <ul>
+     *     <li>
+     *         {@link Fingerprinted} values provide their own fingerprint, {@code fingerprint} is used otherwise.
+     *     </li>
+     *     <li>
+     *         The fingerprint of the last {@code next} is kept, so that when it comes back as {@code prev} on the following test it is not computed again.
+     *         The predicate holds a strong reference to that value until the next test replaces it.
+     *     </li>
+     *     <li>
+     *         Identical instances are equal, and a {@code null} is only equal to another {@code null}, neither reaching {@code equality}.
+     *     </li>
+     * </ul>
+     * <p> There is no default fingerprint: {@link Object#hashCode()} is usually as costly as {@code equality} on uncached values,
+     * so callers supply one that is cached or cheaper, e.g. {@code String::hashCode}.
+     * @param fingerprint must be consistent with {@code equality}: equal values must have equal fingerprints.
+     * */
+    static<T> BinaryPredicate<T> hashGated(ToLongFunction<? super T> fingerprint, BinaryPredicate<T> equality) {
+        return new HashGated<>(fingerprint, equality);
+    }
+
+    final class HashGated<T> implements BinaryPredicate<T> {
+        private final ToLongFunction<? super T> fingerprint;
+        private final BinaryPredicate<T> equality;
+        /*
+         * Racy single slot: a stale read only costs a recomputation, Last is safely published through its final fields.
+         * Holds the last 'next' strongly, which the caller already retains as its next 'prev'.
+         * */
+        private Last last;
+
+        private record Last(Object value, long fingerprint) {}
+
+        private HashGated(ToLongFunction<? super T> fingerprint, BinaryPredicate<T> equality) {
+            this.fingerprint = Objects.requireNonNull(fingerprint, "fingerprint");
+            this.equality = Objects.requireNonNull(equality, "equality");
+        }
+
+        @Override
+        public boolean test(T next, T prev) {
+            if (next == prev) return true;
+            if (next == null || prev == null) return false;
+            Last last = this.last;
+            long prevPrint = last != null && last.value == prev ? last.fingerprint : fingerprint(prev)
+                    , nextPrint = fingerprint(next);
+            if (!(next instanceof Fingerprinted)) this.last = new Last(next, nextPrint);
+            return nextPrint == prevPrint && equality.test(next, prev);
+        }
+
+        private long fingerprint(T value) {
+            return value instanceof Fingerprinted fingerprinted ? fingerprinted.fingerprint() : fingerprint.applyAsLong(value);
+        }
+
+        @Override
+        public String toString() {
+            return "HashGated{" + equality + "}";
+        }
+    }
+
+    /**
+     * Primitive specialization of {@link BinaryPredicate} for {@code int} values, following the same {@code test(next, prev)} ordering.
+     * @see #boxed()
+     * @see #of(BinaryPredicate)
+     * */
+    @FunctionalInterface
+    interface OfInt {
+        boolean test(int next, int prev);
+
+        /**
+         * lambda instance for {@code next == prev}, same semantics as {@link Objects#equals(Object, Object)} on the boxed values.
+         * */
+        OfInt equalFun = (next, prev) -> next == prev;
+
+        OfInt
+                defaultFalse = new OfInt() {
+            @Override
+            public boolean test(int next, int prev) {
+                return false;
+            }
+
+            @Override
+            public boolean isAlwaysFalse() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfInt negate() {
+                return defaultTrue;
+            }
+
+            @Override
+            public BinaryPredicate<Integer> boxed() {
+                return binaryAlwaysFalse();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = false";
+            }
+        }
+                , defaultTrue = new OfInt() {
+            @Override
+            public boolean test(int next, int prev) {
+                return true;
+            }
+
+            @Override
+            public boolean isAlwaysTrue() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfInt negate() {
+                return defaultFalse;
+            }
+
+            @Override
+            public BinaryPredicate<Integer> boxed() {
+                return binaryAlwaysTrue();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = true";
+            }
+        };
+
+        /**
+         * @see BinaryPredicate#isAlwaysFalse()
+         * */
+        default boolean isAlwaysFalse() {
+            return false;
+        }
+
+        /**
+         * @see BinaryPredicate#isAlwaysTrue()
+         * */
+        default boolean isAlwaysTrue() {
+            return false;
+        }
+
+        default boolean isDefault() {
+            return false;
+        }
+
+        /**
+         * Allocates only the returned instance, whose {@link #negate()} returns back this test.
+         * */
+        default OfInt negate() {
+            final OfInt source = this;
+            return new OfInt() {
+                @Override
+                public boolean test(int next, int prev) {
+                    return !source.test(next, prev);
+                }
+
+                @Override
+                public OfInt negate() {
+                    return source;
+                }
+            };
+        }
+
+        /**
+         * @return the boxed form of this test, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * <p> {@link #defaultTrue}, {@link #defaultFalse} and {@link #equalFun} map to their {@link BinaryPredicate} counterparts.
+         * */
+        default BinaryPredicate<Integer> boxed() {
+            return this == equalFun ? BinaryPredicate.equalFun() : nonNullTest(this);
+        }
+
+        /**
+         * Unboxes a {@link BinaryPredicate}, {@link BinaryPredicate#defaultTrue}, {@link BinaryPredicate#defaultFalse}
+         * and {@link BinaryPredicate#equalFun} map to their primitive counterparts, and a {@link #boxed()} test to its source.
+         * <p> Any other test will box both values on each call.
+         * */
+        static OfInt of(BinaryPredicate<Integer> test) {
+            if (test.isAlwaysTrue()) return defaultTrue;
+            if (test.isAlwaysFalse()) return defaultFalse;
+            if (test == BinaryPredicate.equalFun) return equalFun;
+            if (test instanceof Boxed<?> boxed && boxed.source instanceof OfInt source) return source;
+            return test::test;
+        }
+
+        /**
+         * Boxed form of {@code test}, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * */
+        static BinaryPredicate<Integer> nonNullTest(OfInt test) {
+            return new Boxed<>(test) {
+                @Override
+                public boolean test(Integer next, Integer prev) {
+                    boolean prevNull = false;
+                    if (next == null || (prevNull = prev == null)) {
+                        return !prevNull && prev == null;
+                    } else {
+                        return test.test(next, prev);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Primitive specialization of {@link BinaryPredicate} for {@code long} values, following the same {@code test(next, prev)} ordering.
+     * @see #boxed()
+     * @see #of(BinaryPredicate)
+     * */
+    @FunctionalInterface
+    interface OfLong {
+        boolean test(long next, long prev);
+
+        /**
+         * lambda instance for {@code next == prev}, same semantics as {@link Objects#equals(Object, Object)} on the boxed values.
+         * */
+        OfLong equalFun = (next, prev) -> next == prev;
+
+        OfLong
+                defaultFalse = new OfLong() {
+            @Override
+            public boolean test(long next, long prev) {
+                return false;
+            }
+
+            @Override
+            public boolean isAlwaysFalse() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfLong negate() {
+                return defaultTrue;
+            }
+
+            @Override
+            public BinaryPredicate<Long> boxed() {
+                return binaryAlwaysFalse();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = false";
+            }
+        }
+                , defaultTrue = new OfLong() {
+            @Override
+            public boolean test(long next, long prev) {
+                return true;
+            }
+
+            @Override
+            public boolean isAlwaysTrue() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfLong negate() {
+                return defaultFalse;
+            }
+
+            @Override
+            public BinaryPredicate<Long> boxed() {
+                return binaryAlwaysTrue();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = true";
+            }
+        };
+
+        /**
+         * @see BinaryPredicate#isAlwaysFalse()
+         * */
+        default boolean isAlwaysFalse() {
+            return false;
+        }
+
+        /**
+         * @see BinaryPredicate#isAlwaysTrue()
+         * */
+        default boolean isAlwaysTrue() {
+            return false;
+        }
+
+        default boolean isDefault() {
+            return false;
+        }
+
+        /**
+         * Allocates only the returned instance, whose {@link #negate()} returns back this test.
+         * */
+        default OfLong negate() {
+            final OfLong source = this;
+            return new OfLong() {
+                @Override
+                public boolean test(long next, long prev) {
+                    return !source.test(next, prev);
+                }
+
+                @Override
+                public OfLong negate() {
+                    return source;
+                }
+            };
+        }
+
+        /**
+         * @return the boxed form of this test, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * <p> {@link #defaultTrue}, {@link #defaultFalse} and {@link #equalFun} map to their {@link BinaryPredicate} counterparts.
+         * */
+        default BinaryPredicate<Long> boxed() {
+            return this == equalFun ? BinaryPredicate.equalFun() : nonNullTest(this);
+        }
+
+        /**
+         * Unboxes a {@link BinaryPredicate}, {@link BinaryPredicate#defaultTrue}, {@link BinaryPredicate#defaultFalse}
+         * and {@link BinaryPredicate#equalFun} map to their primitive counterparts, and a {@link #boxed()} test to its source.
+         * <p> Any other test will box both values on each call.
+         * */
+        static OfLong of(BinaryPredicate<Long> test) {
+            if (test.isAlwaysTrue()) return defaultTrue;
+            if (test.isAlwaysFalse()) return defaultFalse;
+            if (test == BinaryPredicate.equalFun) return equalFun;
+            if (test instanceof Boxed<?> boxed && boxed.source instanceof OfLong source) return source;
+            return test::test;
+        }
+
+        /**
+         * Boxed form of {@code test}, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * */
+        static BinaryPredicate<Long> nonNullTest(OfLong test) {
+            return new Boxed<>(test) {
+                @Override
+                public boolean test(Long next, Long prev) {
+                    boolean prevNull = false;
+                    if (next == null || (prevNull = prev == null)) {
+                        return !prevNull && prev == null;
+                    } else {
+                        return test.test(next, prev);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Primitive specialization of {@link BinaryPredicate} for {@code double} values, following the same {@code test(next, prev)} ordering.
+     * @see #boxed()
+     * @see #of(BinaryPredicate)
+     * */
+    @FunctionalInterface
+    interface OfDouble {
+        boolean test(double next, double prev);
+
+        /**
+         * lambda instance for {@code Double.doubleToLongBits(next) == Double.doubleToLongBits(prev)}, same semantics as {@link Objects#equals(Object, Object)} on the boxed values.
+         * */
+        OfDouble equalFun = (next, prev) -> Double.doubleToLongBits(next) == Double.doubleToLongBits(prev);
+
+        OfDouble
+                defaultFalse = new OfDouble() {
+            @Override
+            public boolean test(double next, double prev) {
+                return false;
+            }
+
+            @Override
+            public boolean isAlwaysFalse() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfDouble negate() {
+                return defaultTrue;
+            }
+
+            @Override
+            public BinaryPredicate<Double> boxed() {
+                return binaryAlwaysFalse();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = false";
+            }
+        }
+                , defaultTrue = new OfDouble() {
+            @Override
+            public boolean test(double next, double prev) {
+                return true;
+            }
+
+            @Override
+            public boolean isAlwaysTrue() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfDouble negate() {
+                return defaultFalse;
+            }
+
+            @Override
+            public BinaryPredicate<Double> boxed() {
+                return binaryAlwaysTrue();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = true";
+            }
+        };
+
+        /**
+         * @see BinaryPredicate#isAlwaysFalse()
+         * */
+        default boolean isAlwaysFalse() {
+            return false;
+        }
+
+        /**
+         * @see BinaryPredicate#isAlwaysTrue()
+         * */
+        default boolean isAlwaysTrue() {
+            return false;
+        }
+
+        default boolean isDefault() {
+            return false;
+        }
+
+        /**
+         * Allocates only the returned instance, whose {@link #negate()} returns back this test.
+         * */
+        default OfDouble negate() {
+            final OfDouble source = this;
+            return new OfDouble() {
+                @Override
+                public boolean test(double next, double prev) {
+                    return !source.test(next, prev);
+                }
+
+                @Override
+                public OfDouble negate() {
+                    return source;
+                }
+            };
+        }
+
+        /**
+         * @return the boxed form of this test, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * <p> {@link #defaultTrue}, {@link #defaultFalse} and {@link #equalFun} map to their {@link BinaryPredicate} counterparts.
+         * */
+        default BinaryPredicate<Double> boxed() {
+            return this == equalFun ? BinaryPredicate.equalFun() : nonNullTest(this);
+        }
+
+        /**
+         * Unboxes a {@link BinaryPredicate}, {@link BinaryPredicate#defaultTrue}, {@link BinaryPredicate#defaultFalse}
+         * and {@link BinaryPredicate#equalFun} map to their primitive counterparts, and a {@link #boxed()} test to its source.
+         * <p> Any other test will box both values on each call.
+         * */
+        static OfDouble of(BinaryPredicate<Double> test) {
+            if (test.isAlwaysTrue()) return defaultTrue;
+            if (test.isAlwaysFalse()) return defaultFalse;
+            if (test == BinaryPredicate.equalFun) return equalFun;
+            if (test instanceof Boxed<?> boxed && boxed.source instanceof OfDouble source) return source;
+            return test::test;
+        }
+
+        /**
+         * Boxed form of {@code test}, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * */
+        static BinaryPredicate<Double> nonNullTest(OfDouble test) {
+            return new Boxed<>(test) {
+                @Override
+                public boolean test(Double next, Double prev) {
+                    boolean prevNull = false;
+                    if (next == null || (prevNull = prev == null)) {
+                        return !prevNull && prev == null;
+                    } else {
+                        return test.test(next, prev);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Primitive specialization of {@link BinaryPredicate} for {@code boolean} values, following the same {@code test(next, prev)} ordering.
+     * @see #boxed()
+     * @see #of(BinaryPredicate)
+     * */
+    @FunctionalInterface
+    interface OfBoolean {
+        boolean test(boolean next, boolean prev);
+
+        /**
+         * lambda instance for {@code next == prev}, same semantics as {@link Objects#equals(Object, Object)} on the boxed values.
+         * */
+        OfBoolean equalFun = (next, prev) -> next == prev;
+
+        OfBoolean
+                defaultFalse = new OfBoolean() {
+            @Override
+            public boolean test(boolean next, boolean prev) {
+                return false;
+            }
+
+            @Override
+            public boolean isAlwaysFalse() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfBoolean negate() {
+                return defaultTrue;
+            }
+
+            @Override
+            public BinaryPredicate<Boolean> boxed() {
+                return binaryAlwaysFalse();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = false";
+            }
+        }
+                , defaultTrue = new OfBoolean() {
+            @Override
+            public boolean test(boolean next, boolean prev) {
+                return true;
+            }
+
+            @Override
+            public boolean isAlwaysTrue() {
+                return true;
+            }
+
+            @Override
+            public boolean isDefault() {
+                return true;
+            }
+
+            @Override
+            public OfBoolean negate() {
+                return defaultFalse;
+            }
+
+            @Override
+            public BinaryPredicate<Boolean> boxed() {
+                return binaryAlwaysTrue();
+            }
+
+            @Override
+            public String toString() {
+                return super.toString() + "DEFAULT" + ",\n" +
+                        " value = true";
+            }
+        };
+
+        /**
+         * @see BinaryPredicate#isAlwaysFalse()
+         * */
+        default boolean isAlwaysFalse() {
+            return false;
+        }
+
+        /**
+         * @see BinaryPredicate#isAlwaysTrue()
+         * */
+        default boolean isAlwaysTrue() {
+            return false;
+        }
+
+        default boolean isDefault() {
+            return false;
+        }
+
+        /**
+         * Allocates only the returned instance, whose {@link #negate()} returns back this test.
+         * */
+        default OfBoolean negate() {
+            final OfBoolean source = this;
+            return new OfBoolean() {
+                @Override
+                public boolean test(boolean next, boolean prev) {
+                    return !source.test(next, prev);
+                }
+
+                @Override
+                public OfBoolean negate() {
+                    return source;
+                }
+            };
+        }
+
+        /**
+         * @return the boxed form of this test, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * <p> {@link #defaultTrue}, {@link #defaultFalse} and {@link #equalFun} map to their {@link BinaryPredicate} counterparts.
+         * */
+        default BinaryPredicate<Boolean> boxed() {
+            return this == equalFun ? BinaryPredicate.equalFun() : nonNullTest(this);
+        }
+
+        /**
+         * Unboxes a {@link BinaryPredicate}, {@link BinaryPredicate#defaultTrue}, {@link BinaryPredicate#defaultFalse}
+         * and {@link BinaryPredicate#equalFun} map to their primitive counterparts, and a {@link #boxed()} test to its source.
+         * <p> Any other test will box both values on each call.
+         * */
+        static OfBoolean of(BinaryPredicate<Boolean> test) {
+            if (test.isAlwaysTrue()) return defaultTrue;
+            if (test.isAlwaysFalse()) return defaultFalse;
+            if (test == BinaryPredicate.equalFun) return equalFun;
+            if (test instanceof Boxed<?> boxed && boxed.source instanceof OfBoolean source) return source;
+            return test::test;
+        }
+
+        /**
+         * Boxed form of {@code test}, with the {@code null} semantics of {@link BinaryPredicate#nonNullTest(BinaryPredicate)}.
+         * */
+        static BinaryPredicate<Boolean> nonNullTest(OfBoolean test) {
+            return new Boxed<>(test) {
+                @Override
+                public boolean test(Boolean next, Boolean prev) {
+                    boolean prevNull = false;
+                    if (next == null || (prevNull = prev == null)) {
+                        return !prevNull && prev == null;
+                    } else {
+                        return test.test(next, prev);
+                    }
+                }
+            };
+        }
+    }
+
+    /**
+     * Boxed form of a primitive specialization, kept so that {@code of(boxed)} unwraps back to its source.
+     * */
+    abstract class Boxed<T> implements BinaryPredicate<T> {
+        final Object source;
+
+        private Boxed(Object source) {
+            this.source = Objects.requireNonNull(source, "source");
+        }
+    }
+
 }
\ No newline at end of file
@@ -1,5 +1,14 @@
 package interfaces;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 /**
@@ -29,6 +38,308 @@ public interface Producer<V> {
         throw new RuntimeException("Method not implemented");
     }
 
+    /**
+     * Creates a lock-free multi-subscriber {@link Producer}.
+     * @see Broadcast
+     * */
+    static<V> Broadcast<V> broadcast() {
+        return new Broadcast<>();
+    }
+
+    /**
+     * Lock-free multi-subscriber {@link Producer}, backed by an atomically swapped copy-on-write array of {@link Consumer}s.
+     * <ul>
+     *     <li>
+     *         {@link #register(Consumer)} and {@link #unregister(Consumer)} copy the array and CAS it in, retrying on contention.
+     *     </li>
+     *     <li>
+     *         {@link #accept(Object)} iterates a snapshot of the array, wait-free,
+     *         consumers registered or unregistered during an emission take effect on the next one.
+     *     </li>
+     *     <li>
+     *         {@link #unregister(Consumer)} removes the first registered consumer {@code c} where {@code c == consumer || c.equals(consumer)}.
+     *     </li>
+     * </ul>
+     * <p> Exceptions thrown by a consumer propagate to the emitter, and the remaining consumers of that emission are not reached.
+     * */
+    final class Broadcast<V> implements Producer<V>, Consumer<V> {
+        @SuppressWarnings("rawtypes")
+        private static final Consumer[] empty = new Consumer[0];
+
+        @SuppressWarnings("unchecked")
+        private final AtomicReference<Consumer<? super V>[]> consumers = new AtomicReference<>(empty);
+
+        private Broadcast() {}
+
+        @Override
+        public void register(Consumer<? super V> valueConsumer) {
+            Objects.requireNonNull(valueConsumer, "valueConsumer");
+            Consumer<? super V>[] prev, next;
+            do {
+                prev = consumers.get();
+                next = Arrays.copyOf(prev, prev.length + 1);
+                next[prev.length] = valueConsumer;
+            } while (!consumers.compareAndSet(prev, next));
+        }
+
+        /**
+         * @return true if a matching consumer was found and removed.
+         * */
+        @Override
+        public boolean unregister(Consumer<? super V> valueConsumer) {
+            Consumer<? super V>[] prev, next;
+            do {
+                prev = consumers.get();
+                int index = indexOf(prev, valueConsumer);
+                if (index < 0) return false;
+                next = remove(prev, index);
+            } while (!consumers.compareAndSet(prev, next));
+            return true;
+        }
+
+        /**
+         * Unregisters the last registered {@link Consumer}.
+         * @return the consumer removed, or {@code null} if none was registered.
+         * */
+        @Override
+        public Consumer<? super V> unregister() {
+            Consumer<? super V>[] prev;
+            do {
+                prev = consumers.get();
+                if (prev.length == 0) return null;
+            } while (!consumers.compareAndSet(prev, remove(prev, prev.length - 1)));
+            return prev[prev.length - 1];
+        }
+
+        /**
+         * Emits the value to every registered {@link Consumer}, in registration order.
+         * */
+        @Override
+        public void accept(V v) {
+            for (Consumer<? super V> consumer : consumers.get()) {
+                consumer.accept(v);
+            }
+        }
+
+        public int size() {
+            return consumers.get().length;
+        }
+
+        public boolean isEmpty() {
+            return consumers.get().length == 0;
+        }
+
+        private static<V> int indexOf(Consumer<? super V>[] consumers, Consumer<? super V> consumer) {
+            for (int i = 0; i < consumers.length; i++) {
+                Consumer<? super V> c = consumers[i];
+                if (c == consumer || c.equals(consumer)) return i;
+            }
+            return -1;
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static<V> Consumer<? super V>[] remove(Consumer<? super V>[] consumers, int index) {
+            int length = consumers.length;
+            if (length == 1) return empty;
+            Consumer<? super V>[] res = new Consumer[length - 1];
+            System.arraycopy(consumers, 0, res, 0, index);
+            System.arraycopy(consumers, index + 1, res, index, length - index - 1);
+            return res;
+        }
+
+        @Override
+        public String toString() {
+            return "Broadcast{" +
+                    "consumers=" + consumers.get().length +
+                    "}";
+        }
+    }
+
+    /**
+     * Creates a {@link Producer} that delivers only the latest value emitted since the previous drain.
+     * @param executor runs the drains, consumers are never called concurrently with each other.
+     * @see Conflating
+     * */
+    static<V> Conflating<V, V> conflating(Executor executor) {
+        return new Conflating<>(executor, false, 1);
+    }
+
+    /**
+     * Creates a {@link Producer} that delivers, in emission order, the values emitted since the previous drain, as a single {@link List}.
+     * @param maxBatch the maximum size of a batch, older values beyond it are dropped.
+     * @see Conflating
+     * */
+    static<V> Conflating<V, List<V>> batching(Executor executor, int maxBatch) {
+        if (maxBatch < 1) throw new IllegalArgumentException("maxBatch must be positive, was " + maxBatch);
+        return new Conflating<>(executor, true, maxBatch);
+    }
+
+    /**
+     * Conflating {@link Producer}, for high-frequency sources feeding slow {@link Consumer}s,
+     * keeping the work done proportional to the consumers' speed instead of the source's rate.
+     * <ul>
+     *     <li>
+     *         {@link #accept(Object)} stores the value in a single atomic slot and, if no drain is pending, schedules one on the {@link Executor}.
+     *     </li>
+     *     <li>
+     *         Each drain empties the slot and delivers its contents to the registered consumers, through a {@link Broadcast}.
+     *         At most one drain runs at a time.
+     *     </li>
+     *     <li>
+     *         Values replaced before being delivered, or left out of a full batch (the oldest ones), are accounted by {@link #dropped()}.
+     *     </li>
+     * </ul>
+     * <p> An exception thrown by a consumer ends its drain, the next emission schedules a new one.
+     * @param <V> the type of the values emitted.
+     * @param <T> the type of the values delivered, {@code V} or {@code List<V>}.
+     * @see Producer#conflating(Executor)
+     * @see Producer#batching(Executor, int)
+     * */
+    final class Conflating<V, T> implements Producer<T>, Consumer<V> {
+        /**
+         * Stands for a {@code null} value in the latest-value slot.
+         * */
+        private static final Object nullValue = new Object();
+
+        private static final class Node {
+            final Object value;
+            final int depth;
+            /*
+             * Cut once beyond the newest maxBatch nodes, which are the only ones a drain reads.
+             * */
+            Node next;
+
+            Node(Object value, Node next, int depth) {
+                this.value = value;
+                this.next = next;
+                this.depth = depth;
+            }
+        }
+
+        private final Executor executor;
+        /**
+         * Whether values are delivered as {@link List}s, even when {@link #maxBatch} is 1.
+         * */
+        private final boolean batched;
+        private final int maxBatch;
+        private final Broadcast<T> consumers = new Broadcast<>();
+        /*
+         * Latest-value mode: the value itself (or nullValue).
+         * Batched mode: a Node stack, newest first.
+         * */
+        private final AtomicReference<Object> slot = new AtomicReference<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private final LongAdder
+                drains = new LongAdder()
+                , dropped = new LongAdder();
+        private final Runnable drain = this::drain;
+
+        private Conflating(Executor executor, boolean batched, int maxBatch) {
+            this.executor = Objects.requireNonNull(executor, "executor");
+            this.batched = batched;
+            this.maxBatch = maxBatch;
+        }
+
+        @Override
+        public void accept(V v) {
+            if (!batched) {
+                if (slot.getAndSet(v == null ? nullValue : v) != null) dropped.increment();
+            } else {
+                Object prev;
+                Node next;
+                do {
+                    prev = slot.get();
+                    next = new Node(v, (Node) prev, prev == null ? 1 : ((Node) prev).depth + 1);
+                } while (!slot.compareAndSet(prev, next));
+                if (next.depth % maxBatch == 0) cut(next);
+            }
+            if (scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(drain);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    throw e;
+                }
+            }
+        }
+
+        /**
+         * Bounds the stack retained between drains to {@code 2 * maxBatch} nodes.
+         * */
+        private void cut(Node top) {
+            Node node = top;
+            for (int i = 1; i < maxBatch && node != null; i++) node = node.next;
+            if (node != null) node.next = null;
+        }
+
+        private void drain() {
+            do {
+                try {
+                    Object taken = slot.getAndSet(null);
+                    if (taken != null) {
+                        drains.increment();
+                        consumers.accept(deliverable(taken));
+                    }
+                } finally {
+                    scheduled.set(false);
+                }
+            } while (slot.get() != null && scheduled.compareAndSet(false, true));
+        }
+
+        @SuppressWarnings("unchecked")
+        private T deliverable(Object taken) {
+            if (!batched) return taken == nullValue ? null : (T) taken;
+            Node node = (Node) taken;
+            int size = Math.min(node.depth, maxBatch);
+            if (node.depth > size) dropped.add(node.depth - size);
+            Object[] batch = new Object[size];
+            for (int i = size - 1; i >= 0; i--, node = node.next) {
+                batch[i] = node.value;
+            }
+            return (T) Collections.unmodifiableList(Arrays.asList(batch));
+        }
+
+        @Override
+        public void register(Consumer<? super T> valueConsumer) {
+            consumers.register(valueConsumer);
+        }
+
+        @Override
+        public boolean unregister(Consumer<? super T> valueConsumer) {
+            return consumers.unregister(valueConsumer);
+        }
+
+        @Override
+        public Consumer<? super T> unregister() {
+            return consumers.unregister();
+        }
+
+        /**
+         * @return the amount of values that were emitted but never delivered.
+         * */
+        public long dropped() {
+            return dropped.sum();
+        }
+
+        /**
+         * @return the amount of deliveries performed.
+         * */
+        public long drains() {
+            return drains.sum();
+        }
+
+        @Override
+        public String toString() {
+            return "Conflating{" +
+                    "batched=" + batched +
+                    ", maxBatch=" + maxBatch +
+                    ", consumers=" + consumers.size() +
+                    ", drains=" + drains.sum() +
+                    ", dropped=" + dropped.sum() +
+                    "}";
+        }
+    }
+
     /**
      * An Illegal Register with custom lazy error message.
      * @param errorMessageSupplier lazily gets the error to be displayed
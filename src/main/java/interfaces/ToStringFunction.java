@@ -3,11 +3,36 @@ package interfaces;
 
 import utils.Functions;
 
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Function;
+import java.util.function.Predicate;
 import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @FunctionalInterface
 public interface ToStringFunction<T> extends Function<T, String> {
@@ -20,19 +45,10 @@ public interface ToStringFunction<T> extends Function<T, String> {
 
     /**
      * A {@link StackTraceElement} array formatter for display as {@link String}
-     * Uses {@link Arrays#toString(String, Object[], String, String, int, int)} and references the next variables:
-     * <ul>
-     *     <li>
-     *         {@link Params#prefix}
-     *     </li>
-     *     <li>
-     *         {@link Params#join}
-     *     </li>
-     *     <li>
-     *         {@link Params#suffix}
-     *     </li>
-     * </ul>
-     * These variables can be changed at any given time.
+     * <p> {@link StackPrinter#PROV}, used by every provenance message of this library, renders through the printer
+     * registered in the {@link StackPrinter.Registry} under {@link StackPrinter.Registry#defaultName},
+     * an immutable {@link StackPrinter.Format} ({@link StackPrinter.Format#DEFAULT} unless replaced),
+     * so that formats are swapped atomically and can differ per subsystem.
      * */
     @FunctionalInterface
     interface StackPrinter {
@@ -52,359 +68,1482 @@ public interface ToStringFunction<T> extends Function<T, String> {
             return toString(es, Arrays.ViewRange.all);
         }
 
+        /**
+         * Legacy mutable configuration, every change is published to the {@link Registry}
+         * as a {@link Format} under {@link Registry#defaultName}, so {@link #PROV} never reads it.
+         * @deprecated the three values cannot be changed atomically, register an immutable {@link Format}
+         * in the {@link Registry} instead.
+         * */
+        @Deprecated
         final class Params {
             private Params() {
             }
 
-            public String prefix = "\n >> Provenance = [\n >> at: ",
-                    join = "\n >> at: ",
-                    suffix = "\n] <<";
+            private String prefix = Format.defaultPrefix,
+                    join = Format.defaultJoin,
+                    suffix = Format.defaultSuffix;
+
+            public synchronized String getPrefix() {
+                return prefix;
+            }
+
+            public synchronized String getJoin() {
+                return join;
+            }
+
+            public synchronized String getSuffix() {
+                return suffix;
+            }
+
+            public synchronized void setPrefix(String prefix) {
+                this.prefix = Objects.requireNonNull(prefix, "prefix");
+                publish();
+            }
+
+            public synchronized void setJoin(String join) {
+                this.join = Objects.requireNonNull(join, "join");
+                publish();
+            }
+
+            public synchronized void setSuffix(String suffix) {
+                this.suffix = Objects.requireNonNull(suffix, "suffix");
+                publish();
+            }
+
+            private void publish() {
+                Registry.put(Registry.defaultName, Format.of(prefix, join, suffix));
+            }
         }
 
+        /**
+         * @deprecated see {@link Params}
+         * */
+        @Deprecated
         Params params = new Params();
 
         /**
-         * Default {@link StackPrinter} formatter that applies {@link Arrays#toString(String, Object[], String, String, int, int)}
-         * with the {@link Arrays.ViewRange} variation
-         * Using the values:
-         * <ul>
-         *     <li>
-         *         {@code prefix} = {@link Params#prefix}
-         *     </li>
-         *     <li>
-         *         {@code join} = {@link Params#join}
-         *     </li>
-         *     <li>
-         *         {@code suffix} = {@link Params#suffix}
-         *     </li>
-         * </ul>
+         * An immutable {@link StackPrinter} built from a format spec of the form:
+         * <p> 'prefix' + firstFrame + 'join' + secondFrame + 'join' + ... + finalFrame + 'suffix';
+         * <p> Constant lengths are computed once on creation, and used to presize the output buffer.
+         * Instances are safe to share and to use concurrently, since the hot path only reads final fields.
          * */
-        StackPrinter PROV = (es, viewRange) -> viewRange.apply(
-                es, (stackTraceElements, s, e) -> {
-                    Params p = params;
-                    return Arrays.toString(p.prefix, es, p.join, p.suffix, s, e);
-                }
-        );
-    }
+        final class Format implements StackPrinter {
+            /**
+             * The default format, rendered by {@link #PROV} unless the {@link Registry} entry {@link Registry#defaultName} is replaced.
+             * */
+            static final String
+                    defaultPrefix = "\n >> Provenance = [\n >> at: "
+                    , defaultJoin = "\n >> at: "
+                    , defaultSuffix = "\n] <<"
+                    ;
 
-    final class Collections {
-        private Collections() {}
+            public static final Format DEFAULT = new Format(defaultPrefix, defaultJoin, defaultSuffix);
 
+            final String prefix, join, suffix;
+            private final int fixed, joinLength;
 
-        public static <X> String[] toStringArray(
-                Collection<X> source,
-                ToStringFunction<X> map
-        ) {
-            int length;
-            if (source == null || (length = source.size()) == 0) return template.clone();
-            String[] res = new String[length];
-            Iterator<X> xIterator = source.iterator();
-            for (int i = 0; i < length; i++) {
-                res[i] = map.apply(xIterator.next());
+            private Format(String prefix, String join, String suffix) {
+                this.prefix = Objects.requireNonNull(prefix, "prefix");
+                this.join = Objects.requireNonNull(join, "join");
+                this.suffix = Objects.requireNonNull(suffix, "suffix");
+                this.fixed = prefix.length() + suffix.length();
+                this.joinLength = join.length();
             }
-            return res;
-        }
 
-        public static <X> String[] toStringArray(
-                Collection<X> source
-        ) throws NullPointerException {
-            int length;
-            if (source == null || (length = source.size()) == 0) return template.clone();
-            String[] res = new String[length];
-            Iterator<X> xIterator = source.iterator();
-            for (int i = 0; i < length; i++) {
-                res[i] = xIterator.next().toString();
+            public static Format of(String prefix, String join, String suffix) {
+                return new Format(prefix, join, suffix);
             }
-            return res;
-        }
-    }
 
-    final class Arrays {
-        private Arrays() {}
+            public Format withPrefix(String prefix) {
+                return new Format(prefix, join, suffix);
+            }
 
-        /**
-         * Maps an array to a {@link String} array.
-         * @param source the source array.
-         * @param map the function to be applied to each element.
-         * */
-        public static <E> String[] toStringArray(
-                E[] source, ToStringFunction<E> map
-        ) {
-            int length;
-            if (source == null || (length = source.length) == 0) return template.clone();
-            final String[] res = new String[length];
-            for (int i = 0; i < length; i++) {
-                res[i] = map.apply(source[i]);
+            public Format withJoin(String join) {
+                return new Format(prefix, join, suffix);
             }
-            return res;
-        }
 
-        /**
-         * Maps an array to a {@link String[]} by applying {@link Object#toString()} on each element.
-         * @param source the source array.
-         * */
-        public static <E> String[] toStringArray(
-                E[] source
-        ) throws NullPointerException {
-            int length;
-            if (source == null || (length = source.length) == 0) return template.clone();
-            final String[] res = new String[length];
-            for (int i = 0; i < length; i++) {
-                res[i] = source[i].toString();
+            public Format withSuffix(String suffix) {
+                return new Format(prefix, join, suffix);
             }
-            return res;
-        }
 
-        public static final String
-                nullS = "null";
+            public String prefix() {
+                return prefix;
+            }
 
-        static final String
-                left = "["
-                , left_2 = "=["
-                , right = "]"
-                , comma = ", "
-                , empty = left.concat(right)
-                ;
+            public String join() {
+                return join;
+            }
 
-        /**
-         * Formats a source array to a {@link String} following the convention specified at {@link java.util.Arrays#toString(Object[])}
-         * @param source the array to be mapped.
-         * @param from = the index to begin the formatting (inclusive)
-         * @param to = the index to end (non-inclusive).
-         * @apiNote Information about source's original length and previous indexes will be lost.
-         * */
-        public static<E> String toString(E[] source, int from, int to) {
-            int length;
-            if (source == null || (length = source.length) == 0) return empty;
-            int finalTo = Math.min(to, length);
-            int finalFrom = Math.min(Math.max(from, 0), length - 1);
-            StringBuilder sb = new StringBuilder(left);
-            E next;
-            sb.append(
-                    (next = source[finalFrom++]) == null ? nullS : next.toString()
-            );
-            for (; finalFrom < finalTo; finalFrom++) {
-                sb.append(comma)
-                        .append((next = source[finalFrom]) == null ? nullS : next.toString());
+            public String suffix() {
+                return suffix;
             }
-            return sb.append(right).toString();
-        }
 
-        /**
-         * Formats a source array to a {@link String} by applying the specified function on each element and following the convention defined at {@link java.util.Arrays#toString(Object[])}
-         * @param source the source array to be mapped.
-         * @param map the {@link ToStringFunction} to be applied to each element {@link E}
-         * */
-        static<E> String toString(E[] source, ToStringFunction<E> map) {
-            int length;
-            if (source == null || (length = source.length) == 0) return empty;
-            StringBuilder sb = new StringBuilder(left);
-            int i = 0;
-            sb.append(
-                    map.apply(source[i++])
-            );
-            for (; i < length; i++) {
-                sb.append(comma)
-                        .append(
-                                map.apply(source[i])
-                        );
+            @Override
+            public String toString(StackTraceElement[] es, Arrays.ViewRange range) {
+                int length = es.length;
+                if (length == 0) return Arrays.empty;
+                int from = range.start(length), to = range.end(length)
+                        , count = Math.max(Math.min(to, length) - Math.min(Math.max(from, 0), length - 1), 1);
+                StringBuilder sb = new StringBuilder(
+                        Arrays.Capacity.of(StackTraceElement.class).joined(count, fixed, joinLength)
+                );
+                return Arrays.appendTo(sb, prefix, es, join, suffix, from, to).toString();
+            }
+
+            @Override
+            public boolean equals(Object o) {
+                if (this == o) return true;
+                if (!(o instanceof Format that)) return false;
+                return prefix.equals(that.prefix)
+                        && join.equals(that.join)
+                        && suffix.equals(that.suffix);
+            }
+
+            @Override
+            public int hashCode() {
+                return Objects.hash(prefix, join, suffix);
+            }
+
+            @Override
+            public String toString() {
+                return "Format{" +
+                        "prefix='" + prefix + '\'' +
+                        ", join='" + join + '\'' +
+                        ", suffix='" + suffix + '\'' +
+                        "}";
             }
-            return sb.append(right).toString();
         }
+
         /**
-         * Parameter class that will define the sub-view of the E[] array to be transformed into a String.
-         * <ul>
-         *     <li>
-         *         {@link #all}
-         *     </li>
-         *     <li>
-         *         {@link #first}
-         *     </li>
-         *     <li>
-         *         {@link #last}
-         *     </li>
-         *     <li>
-         *         {@link #limit(int, Limit)}
-         *     </li>
-         *     <li>
-         *         {@link #single(int)}
-         *     </li>
-         *     <li>
-         *         {@link #window(int, int)}
-         *     </li>
-         * </ul>
+         * A registry of named {@link StackPrinter}s, allowing per-subsystem formats.
+         * <p> The registry is an immutable snapshot swapped atomically on every change,
+         * so lookups never block and never observe a partially applied update.
+         * <p> The name {@link #defaultName} is always present, and maps to {@link Format#DEFAULT} unless replaced.
+         * It is rendered by {@link #PROV}: a printer under that name that delegates back to {@link #PROV}
+         * (e.g.: {@code PROV.cached(n)}) is detected on re-entry, and the nested render falls back to {@link Format#DEFAULT}.
          * */
-        public static final class ViewRange {
-            final RangeResolve resolve;
+        final class Registry {
+            private Registry() {}
 
-            @FunctionalInterface
-            interface RangeResolve {
-                int start = 0, end = 1;
-                int[] template = new int[]{0, 0};
-                int[] apply(int length);
-            }
-            /**
-             * Defines the 'side' by which the offset begins counting.
-             * */
-            public enum Limit {
-                /**
-                 * Defines order first-to-last
-                 * */
-                toFirst,
-                /**
-                 * Defines order last-to-first
-                 * */
-                toLast
-            }
+            public static final String defaultName = "default";
+
+            private static final AtomicReference<Map<String, StackPrinter>> printers =
+                    new AtomicReference<>(Map.of(defaultName, Format.DEFAULT));
 
             /**
-             * The view will comprise the totality of the length of the source array.
-             * */
-            public static ViewRange all = new ViewRange(
-                    l -> {
-                        int[] copy = RangeResolve.template.clone();
-                        copy[RangeResolve.start] = 0;
-                        copy[RangeResolve.end] = l;
-                        return copy;
-                    }
-            );
-            /**
-             * The view will return just the first element of the source array.
+             * Set while the current thread renders a non {@link Format} default printer through {@link #PROV}.
              * */
-            public static ViewRange first = new ViewRange(
-                    l -> {
-                        int[] copy = RangeResolve.template.clone();
-                        copy[RangeResolve.start] = 0;
-                        copy[RangeResolve.end] = 1;
-                        return copy;
-                    }
-            );
+            private static final ThreadLocal<boolean[]> rendering = ThreadLocal.withInitial(() -> new boolean[1]);
+
             /**
-             * The view will return the last element of the source array.
+             * {@link Format}s never delegate, and are rendered without touching the re-entry guard.
              * */
-            public static ViewRange last = new ViewRange(
-                    l -> {
-                        int[] copy = RangeResolve.template.clone();
-                        copy[RangeResolve.start] = l - 1;
-                        copy[RangeResolve.end] = l;
-                        return copy;
-                    }
-            );
-
-            private ViewRange(RangeResolve resolve) {
-                this.resolve = resolve;
+            private static String render(StackTraceElement[] es, Arrays.ViewRange range) {
+                StackPrinter printer = printers.get().get(defaultName);
+                if (printer instanceof Format) return printer.toString(es, range);
+                boolean[] busy = rendering.get();
+                if (busy[0]) return Format.DEFAULT.toString(es, range);
+                busy[0] = true;
+                try {
+                    return printer.toString(es, range);
+                } finally {
+                    busy[0] = false;
+                }
             }
 
             /**
-             * Defines the {@link Limit} of the stack to print.
-             * If the offset surpasses the max length of the stack, the length will be used instead,
-             * returning the stack at index 0, or the last index depending on the direction chosen.
+             * @return the printer registered under {@code name}, or the {@link #defaultName} printer if absent.
              * */
-            public static ViewRange limit(int limit, Limit direction) {
-                return switch (direction) {
-                    case toLast -> new ViewRange(
-                            l -> {
-                                int[] copy = RangeResolve.template.clone();
-                                copy[RangeResolve.start] = (l - 1) - limit;
-                                copy[RangeResolve.end] = l;
-                                return copy;
-                            }
-                    );
-                    case toFirst -> new ViewRange(
-                            l -> {
-                                int[] copy = RangeResolve.template.clone();
-                                copy[RangeResolve.start] = 0;
-                                copy[RangeResolve.end] = limit + 1;
-                                return copy;
-                            }
-                    );
-                };
+            public static StackPrinter get(String name) {
+                Objects.requireNonNull(name, "name");
+                Map<String, StackPrinter> snapshot = printers.get();
+                StackPrinter res = snapshot.get(name);
+                return res != null ? res : snapshot.get(defaultName);
             }
 
             /**
-             * Will create a sub-view of the array that will span between the index
-             * defined at 'start' and the one defined at 'end', both inclusive.
-             * 'start' will truncate at 0, and 'end' at length - 1;
+             * Registers or replaces the printer under {@code name}.
+             * @return the previous printer, or {@code null} if none.
              * */
-            public static ViewRange window(int start, int end) {
-                return new ViewRange(
-                        l -> {
-                            int[] copy = RangeResolve.template.clone();
-                            copy[RangeResolve.start] = start;
-                            copy[RangeResolve.end] = end + 1;
-                            return copy;
-                        }
-                );
+            public static StackPrinter put(String name, StackPrinter printer) {
+                Objects.requireNonNull(name, "name");
+                Objects.requireNonNull(printer, "printer");
+                if (printer == PROV) throw new IllegalArgumentException("PROV renders through the Registry, and cannot be registered in it");
+                Map<String, StackPrinter> prev, next;
+                do {
+                    prev = printers.get();
+                    HashMap<String, StackPrinter> copy = new HashMap<>(prev);
+                    copy.put(name, printer);
+                    next = Map.copyOf(copy);
+                } while (!printers.compareAndSet(prev, next));
+                return prev.get(name);
             }
 
             /**
-             * Will create view comprised of a single index cell, or:
-             * index 0, if the index is too small.
-             * last index if the value surpassed the length of the array.
+             * Removes the printer under {@code name}, the {@link #defaultName} printer is reset to {@link Format#DEFAULT} instead.
+             * @return the removed printer, or {@code null} if none.
              * */
-            public static ViewRange single(int index) {
-                return new ViewRange(
-                        l -> {
-                            int[] copy = RangeResolve.template.clone();
-                            copy[RangeResolve.start] = index;
-                            copy[RangeResolve.end] = index + 1;
-                            return copy;
-                        }
-                );
-            }
-
-            interface StringResolve<E> {
-                String toS(E[] es, int s, int e);
-                StringResolve<?> defaultToString = (StringResolve<Object>) Arrays::toString;
-                StringResolve<String> identity = Arrays::toString;
-                @SuppressWarnings("unchecked")
-                static<E> StringResolve<E> getDefault() {
-                    return (StringResolve<E>) defaultToString;
-                }
+            public static StackPrinter remove(String name) {
+                Objects.requireNonNull(name, "name");
+                Map<String, StackPrinter> prev, next;
+                do {
+                    prev = printers.get();
+                    if (!prev.containsKey(name)) return null;
+                    HashMap<String, StackPrinter> copy = new HashMap<>(prev);
+                    if (defaultName.equals(name)) copy.put(defaultName, Format.DEFAULT);
+                    else copy.remove(name);
+                    next = Map.copyOf(copy);
+                } while (!printers.compareAndSet(prev, next));
+                return prev.get(name);
             }
 
-            private<E> String apply(E[] es, StringResolve<E> r) {
-                int[] res = resolve.apply(es.length);
-                return r.toS(es, res[RangeResolve.start], res[RangeResolve.end]);
+            /**
+             * @return an immutable snapshot of every registered printer.
+             * */
+            public static Map<String, StackPrinter> snapshot() {
+                return printers.get();
             }
         }
 
         /**
-         * Default implementation of {@link #toString(Object[], int, int)} where both parameters '{@code from}' and '{@code to}' have been replaced by {@link ViewRange}
-         * @see ViewRange
+         * Default {@link StackPrinter}, rendering through {@link Registry#get(String)} with {@link Registry#defaultName}.
          * */
-        public static<E> String toString(E[] es, ViewRange range) {
-            return range.apply(es, ViewRange.StringResolve.getDefault());
-        }
-
-        public static String toString(String[] strings, int from, int to) {
-            return toString(
-                    strings, ToStringFunction.identity,
-                    from, to
-            );
-        }
+        StackPrinter PROV = Registry::render;
 
         /**
-         * Default implementation of {@link #toString(Object[], String, int, int)}
-         * <p> where:
-         * <ul>
-         *     <li>
-         *         {@code from} = 0
-         *     </li>
-         *     <li>
-         *         {@code to} = length
-         *     </li>
-         * </ul>
-         *
+         * @return a {@link Cached} printer that memoizes the output of this printer.
+         * @param maxSize the maximum amount of rendered stacks kept, least recently used entries are evicted first.
          * */
-        public static String toString(String[] strings, String join) {
-            return toString(
-                    strings, join, 0, strings.length
-            );
+        default Cached cached(int maxSize) {
+            return new Cached(this, maxSize);
         }
 
         /**
-         * Formats a source array to a {@link String} by applying a {@link ToStringFunction} on each element and
+         * A bounded, least-recently-used cache of rendered stacks.
+         * <p> Stacks are keyed by a fingerprint of the class, method and line of each frame within the resolved {@link Arrays.ViewRange},
+         * so that identical stacks captured at the same call-site are formatted only once.
+         * Fingerprint collisions are resolved by comparing the frames.
+         * @implNote The rendered output is assumed to depend only on the frames in range,
+         * if the delegate reads shared configuration (as {@link #PROV} does with the {@link Registry}), call {@link #clear()} after changing it.
+         * */
+        final class Cached implements StackPrinter {
+            private final StackPrinter delegate;
+            private final LinkedHashMap<Key, String> cache;
+            private final LongAdder
+                    hits = new LongAdder()
+                    , misses = new LongAdder();
+
+            private Cached(StackPrinter delegate, int maxSize) {
+                if (maxSize < 1) throw new IllegalArgumentException("maxSize must be greater than 0, was: " + maxSize);
+                this.delegate = Objects.requireNonNull(delegate, "delegate");
+                this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+                    @Override
+                    protected boolean removeEldestEntry(Map.Entry<Key, String> eldest) {
+                        return size() > maxSize;
+                    }
+                };
+            }
+
+            /**
+             * The frames in {@code [from, to)} of a stack.
+             * <p> Lookups reference the caller's array, stored keys hold a {@link #detached()} copy of the range,
+             * so later changes to that array cannot corrupt the cache.
+             * */
+            private static final class Key {
+                private final StackTraceElement[] es;
+                private final int from, to, hash;
+
+                private Key(StackTraceElement[] es, int from, int to) {
+                    this.es = es;
+                    this.from = from;
+                    this.to = to;
+                    int h = to - from;
+                    for (int i = from; i < to; i++) {
+                        StackTraceElement e = es[i];
+                        h = 31 * h + (e == null ? 0 :
+                                (31 * e.getClassName().hashCode() + e.getMethodName().hashCode()) * 31 + e.getLineNumber());
+                    }
+                    this.hash = h;
+                }
+
+                private Key(StackTraceElement[] es, int hash) {
+                    this.es = es;
+                    this.from = 0;
+                    this.to = es.length;
+                    this.hash = hash;
+                }
+
+                Key detached() {
+                    return new Key(java.util.Arrays.copyOfRange(es, from, to), hash);
+                }
+
+                @Override
+                public boolean equals(Object o) {
+                    if (this == o) return true;
+                    if (!(o instanceof Key that)) return false;
+                    return hash == that.hash
+                            && java.util.Arrays.equals(es, from, to, that.es, that.from, that.to);
+                }
+
+                @Override
+                public int hashCode() {
+                    return hash;
+                }
+            }
+
+            @Override
+            public String toString(StackTraceElement[] es, Arrays.ViewRange range) {
+                int length = es.length;
+                if (length == 0) return delegate.toString(es, range);
+                int to = Math.min(range.end(length), length)
+                        , from = Math.min(Math.max(range.start(length), 0), length - 1);
+                Key key = new Key(es, from, Math.max(to, from + 1));
+                String res;
+                synchronized (cache) {
+                    res = cache.get(key);
+                }
+                if (res != null) {
+                    hits.increment();
+                    return res;
+                }
+                misses.increment();
+                key = key.detached();
+                res = delegate.toString(es, range);
+                synchronized (cache) {
+                    cache.put(key, res);
+                }
+                return res;
+            }
+
+            public long hits() {
+                return hits.sum();
+            }
+
+            public long misses() {
+                return misses.sum();
+            }
+
+            public int size() {
+                synchronized (cache) {
+                    return cache.size();
+                }
+            }
+
+            /**
+             * Evicts every rendered stack.
+             * */
+            public void clear() {
+                synchronized (cache) {
+                    cache.clear();
+                }
+            }
+
+            @Override
+            public String toString() {
+                return "Cached{" +
+                        "size=" + size() +
+                        ", hits=" + hits.sum() +
+                        ", misses=" + misses.sum() +
+                        "}";
+            }
+        }
+
+        /**
+         * A lazily rendered provenance message.
+         * <p> {@link #capture()} records the stack of the calling thread according to the current {@link Mode},
+         * the {@link StackTraceElement} array is materialized, and formatted through a {@link StackPrinter},
+         * the first time {@link #get()} or {@link #toString()} is called.
+         * <p> The rendered {@link String} is cached, so subsequent calls return the same instance.
+         * */
+        final class Provenance implements StringSupplier {
+            private static final String className = Provenance.class.getName();
+
+            /**
+             * Holder of the backtrace, not meant to be thrown.
+             * */
+            private static final class Backtrace extends Throwable {
+                private static final long serialVersionUID = 1L;
+
+                private Backtrace() {
+                    super(null, null, false, true);
+                }
+            }
+
+            /**
+             * Strategy used to record the stack at capture time.
+             * <ul>
+             *     <li>
+             *         {@link #backtrace}
+             *     </li>
+             *     <li>
+             *         {@link #walker}
+             *     </li>
+             *     <li>
+             *         {@link #walker(Arrays.ViewRange, Predicate)}
+             *     </li>
+             * </ul>
+             * */
+            @FunctionalInterface
+            public interface Mode {
+                /**
+                 * @param printer the formatter to be used on render.
+                 * @param range the portion of the stack to be rendered.
+                 * */
+                Provenance capture(StackPrinter printer, Arrays.ViewRange range);
+
+                /**
+                 * Captures on behalf of the caller of {@code wrapper}:
+                 * modes that resolve a call-site skip the frames of {@code wrapper}, the others ignore it.
+                 * */
+                default Provenance capture(StackPrinter printer, Arrays.ViewRange range, Class<?> wrapper) {
+                    return capture(printer, range);
+                }
+
+                /**
+                 * Records the full native backtrace of the thread, which is only materialized on render.
+                 * <p> This is the default {@link Mode}.
+                 * */
+                Mode backtrace = (printer, range) -> new Provenance(new Backtrace(), null, null, printer, range);
+
+                /**
+                 * @return true if the frame does not belong to the JDK or its internals.
+                 * */
+                static boolean isApplicationFrame(StackWalker.StackFrame frame) {
+                    String name = frame.getClassName();
+                    return !(name.startsWith("java.")
+                            || name.startsWith("javax.")
+                            || name.startsWith("jdk.")
+                            || name.startsWith("sun.")
+                            || name.startsWith("com.sun."));
+                }
+
+                /**
+                 * A {@link StackWalker} based {@link Mode} that only records the top frames of the stack.
+                 * @param depth defines how many frames will be recorded,
+                 *              the amount is taken from the end index of the range,
+                 *              so that i.e.: {@code ViewRange.limit(7, Limit.toFirst)} records the top 8 frames,
+                 *              while {@link Arrays.ViewRange#all} or {@link Arrays.ViewRange#last} record the whole stack.
+                 * @param filter frames that do not pass this test are skipped, and do not account for the depth.
+                 * */
+                static Mode walker(Arrays.ViewRange depth, Predicate<StackWalker.StackFrame> filter) {
+                    final int end = depth.end(Integer.MAX_VALUE);
+                    // an inclusive end of Integer.MAX_VALUE overflows the exclusive one.
+                    final long limit = end == Integer.MIN_VALUE ? Integer.MAX_VALUE + 1L : Math.max(0, end);
+                    final StackWalker walker = StackWalker.getInstance();
+                    return (printer, range) -> new Provenance(
+                            null,
+                            walker.walk(
+                                    frames -> frames.dropWhile(f -> f.getClassName().startsWith(className))
+                                            .filter(filter)
+                                            .limit(limit)
+                                            .toArray(StackWalker.StackFrame[]::new)
+                            ),
+                            null, printer, range
+                    );
+                }
+
+                /**
+                 * Default {@link #walker(Arrays.ViewRange, Predicate)} that records the top 16 frames,
+                 * skipping frames of the JDK via {@link #isApplicationFrame(StackWalker.StackFrame)}.
+                 * */
+                Mode walker = walker(Arrays.ViewRange.limit(15, Arrays.ViewRange.Limit.toFirst), Mode::isApplicationFrame);
+
+                /**
+                 * @return a {@link Sampled} mode, where captures are delegated to {@code delegate} only when the {@code sampler} allows it.
+                 * @param skip wrapper classes calling {@link Provenance#capture()} on behalf of their caller,
+                 *             their frames are skipped when resolving the call-site.
+                 *             Wrappers using {@link Provenance#capture(Class)} are skipped without being listed here.
+                 * */
+                static Sampled sampled(Mode delegate, Sampler sampler, Class<?>... skip) {
+                    return new Sampled(delegate, sampler, skip);
+                }
+            }
+
+            /**
+             * Decides whether a capture should take place.
+             * <ul>
+             *     <li>
+             *         {@link #always}
+             *     </li>
+             *     <li>
+             *         {@link #oneIn(int)}
+             *     </li>
+             *     <li>
+             *         {@link #perSecond(int)}
+             *     </li>
+             *     <li>
+             *         {@link #firstPerSite(int)}
+             *     </li>
+             * </ul>
+             * */
+            @FunctionalInterface
+            public interface Sampler {
+                /**
+                 * @param site the call-site of the capture, resolved only if {@link #requiresSite()} is {@code true}, {@code null} otherwise.
+                 * @return true if the stack should be captured.
+                 * */
+                boolean sample(StackTraceElement site);
+
+                /**
+                 * @return true if this sampler needs the call-site to take its decision.
+                 * */
+                default boolean requiresSite() {
+                    return false;
+                }
+
+                /**
+                 * Captures every time.
+                 * */
+                Sampler always = site -> true;
+
+                /**
+                 * Captures the first call, and then one every {@code n} calls.
+                 * */
+                static Sampler oneIn(int n) {
+                    if (n < 1) throw new IllegalArgumentException("n must be greater than 0, was: " + n);
+                    final AtomicLong calls = new AtomicLong();
+                    return site -> calls.getAndIncrement() % n == 0;
+                }
+
+                /**
+                 * Token bucket allowing at most {@code permits} captures per second, with bursts of up to {@code permits}.
+                 * <p> Implemented as a lock-free generic cell rate algorithm over {@link System#nanoTime()}.
+                 * */
+                static Sampler perSecond(int permits) {
+                    if (permits < 1) throw new IllegalArgumentException("permits must be greater than 0, was: " + permits);
+                    final long interval = TimeUnit.SECONDS.toNanos(1) / permits
+                            , tolerance = interval * (permits - 1);
+                    final AtomicLong theoretical = new AtomicLong(System.nanoTime());
+                    return site -> {
+                        long now = System.nanoTime(), prev, tat;
+                        do {
+                            prev = theoretical.get();
+                            tat = prev - now > 0 ? prev : now;
+                            if (tat - now > tolerance) return false;
+                        } while (!theoretical.compareAndSet(prev, tat + interval));
+                        return true;
+                    };
+                }
+
+                /**
+                 * {@link #firstPerSite(int, int)} tracking up to 1024 call-sites.
+                 * */
+                static Sampler firstPerSite(int k) {
+                    return firstPerSite(k, 1 << 10);
+                }
+
+                /**
+                 * Captures only the first {@code k} calls of each call-site.
+                 * @param maxSites the amount of call-sites tracked, the least recently seen one is evicted beyond it,
+                 *                 and gets {@code k} captures again if it comes back.
+                 * */
+                static Sampler firstPerSite(int k, int maxSites) {
+                    if (k < 0) throw new IllegalArgumentException("k must not be negative, was: " + k);
+                    if (maxSites < 1) throw new IllegalArgumentException("maxSites must be greater than 0, was: " + maxSites);
+                    final LinkedHashMap<StackTraceElement, AtomicInteger> sites = new LinkedHashMap<>(16, 0.75f, true) {
+                        @Override
+                        protected boolean removeEldestEntry(Map.Entry<StackTraceElement, AtomicInteger> eldest) {
+                            return size() > maxSites;
+                        }
+                    };
+                    return new Sampler() {
+                        @Override
+                        public boolean sample(StackTraceElement site) {
+                            AtomicInteger count;
+                            synchronized (sites) {
+                                count = sites.computeIfAbsent(site, s -> new AtomicInteger());
+                            }
+                            return count.get() < k && count.getAndIncrement() < k;
+                        }
+
+                        @Override
+                        public boolean requiresSite() {
+                            return true;
+                        }
+                    };
+                }
+            }
+
+            /**
+             * A {@link Mode} that only delegates the capture when its {@link Sampler} allows it.
+             * <p> Captures that are skipped record only their call-site: the first frame that is neither
+             * from {@link Provenance} nor from one of the wrapper classes to skip, and render it as a single-frame stack.
+             * */
+            public static final class Sampled implements Mode {
+                private final Mode delegate;
+                private final Sampler sampler;
+                private final Set<String> skip;
+                private final LongAdder
+                        taken = new LongAdder()
+                        , skipped = new LongAdder();
+
+                private Sampled(Mode delegate, Sampler sampler, Class<?>... skip) {
+                    this.delegate = Objects.requireNonNull(delegate, "delegate");
+                    this.sampler = Objects.requireNonNull(sampler, "sampler");
+                    this.skip = java.util.Arrays.stream(skip).map(Class::getName).collect(Collectors.toUnmodifiableSet());
+                }
+
+                @Override
+                public Provenance capture(StackPrinter printer, Arrays.ViewRange range) {
+                    return capture(printer, range, null);
+                }
+
+                @Override
+                public Provenance capture(StackPrinter printer, Arrays.ViewRange range, Class<?> wrapper) {
+                    String wrapperName = wrapper == null ? null : wrapper.getName();
+                    StackTraceElement site = sampler.requiresSite() ? callSite(skip, wrapperName) : null;
+                    if (sampler.sample(site)) {
+                        taken.increment();
+                        return delegate.capture(printer, range, wrapper);
+                    }
+                    skipped.increment();
+                    if (site == null) site = callSite(skip, wrapperName);
+                    return new Provenance(null, null,
+                            site == null ? new StackTraceElement[0] : new StackTraceElement[]{site},
+                            printer, range);
+                }
+
+                /**
+                 * @return the amount of captures delegated.
+                 * */
+                public long taken() {
+                    return taken.sum();
+                }
+
+                /**
+                 * @return the amount of captures skipped, recording only the call-site.
+                 * */
+                public long skipped() {
+                    return skipped.sum();
+                }
+
+                @Override
+                public String toString() {
+                    return "Sampled{" +
+                            "taken=" + taken.sum() +
+                            ", skipped=" + skipped.sum() +
+                            "}";
+                }
+            }
+
+            private static final StackWalker siteWalker = StackWalker.getInstance();
+
+            private static StackTraceElement callSite(Set<String> skip, String wrapperName) {
+                return siteWalker.walk(
+                        frames -> frames.dropWhile(
+                                f -> {
+                                    String name = f.getClassName();
+                                    return name.startsWith(className) || skip.contains(name) || name.equals(wrapperName);
+                                }
+                        ).findFirst()
+                                .map(StackWalker.StackFrame::toStackTraceElement)
+                                .orElse(null)
+                );
+            }
+
+            private static volatile Mode mode = Mode.backtrace;
+
+            /**
+             * Sets the {@link Mode} used by {@link #capture()} and {@link #capture(StackPrinter, Arrays.ViewRange)}.
+             * */
+            public static void setMode(Mode mode) {
+                Provenance.mode = Objects.requireNonNull(mode, "mode");
+            }
+
+            public static Mode getMode() {
+                return mode;
+            }
+
+            private final StackPrinter printer;
+            private final Arrays.ViewRange range;
+            private final Throwable backtrace;
+            private final StackWalker.StackFrame[] frames;
+            private volatile StackTraceElement[] elements;
+            /*
+             * Racy single-check: String is safely published through its final fields.
+             * */
+            private String message;
+
+            private Provenance(
+                    Throwable backtrace, StackWalker.StackFrame[] frames, StackTraceElement[] elements,
+                    StackPrinter printer, Arrays.ViewRange range) {
+                this.backtrace = backtrace;
+                this.frames = frames;
+                this.elements = elements;
+                this.printer = printer;
+                this.range = range;
+            }
+
+            /**
+             * Captures the current thread's stack with the global {@link Mode}, to be rendered by {@link #PROV} with {@link Arrays.ViewRange#all}.
+             * <p> The frames belonging to {@link Provenance} itself are excluded.
+             * @see #setMode(Mode)
+             * */
+            public static Provenance capture() {
+                return mode.capture(PROV, Arrays.ViewRange.all);
+            }
+
+            /**
+             * Captures the current thread's stack with the given {@link Mode}, to be rendered by {@link #PROV} with {@link Arrays.ViewRange#all}.
+             * */
+            public static Provenance capture(Mode mode) {
+                return mode.capture(PROV, Arrays.ViewRange.all);
+            }
+
+            /**
+             * Variant of {@link #capture()} for wrappers capturing on behalf of their caller,
+             * the frames of {@code wrapper} are skipped when a {@link Sampled} mode resolves the call-site.
+             * */
+            public static Provenance capture(Class<?> wrapper) {
+                return mode.capture(PROV, Arrays.ViewRange.all, wrapper);
+            }
+
+            /**
+             * @see #capture(Class)
+             * */
+            public static Provenance capture(Mode mode, Class<?> wrapper) {
+                return mode.capture(PROV, Arrays.ViewRange.all, wrapper);
+            }
+
+            /**
+             * Captures the current thread's stack with the global {@link Mode}.
+             * @param printer the formatter to be used on render.
+             * @param range the portion of the stack to be rendered.
+             * */
+            public static Provenance capture(StackPrinter printer, Arrays.ViewRange range) {
+                return mode.capture(printer, range);
+            }
+
+            /**
+             * Wraps an already materialized stack, to be rendered by {@link #PROV} with {@link Arrays.ViewRange#all}.
+             * */
+            public static Provenance of(StackTraceElement[] es) {
+                return new Provenance(null, null, es, PROV, Arrays.ViewRange.all);
+            }
+
+            /**
+             * @param printer the formatter to be used on render.
+             * @param range the portion of the stack to be rendered.
+             * */
+            public static Provenance of(StackTraceElement[] es, StackPrinter printer, Arrays.ViewRange range) {
+                return new Provenance(null, null, es, printer, range);
+            }
+
+            /**
+             * @return the captured stack, materializing it if needed.
+             * */
+            public StackTraceElement[] elements() {
+                StackTraceElement[] es = elements;
+                if (es == null) {
+                    es = frames != null ? materialize(frames) : trim(backtrace.getStackTrace());
+                    elements = es;
+                }
+                return es;
+            }
+
+            private static StackTraceElement[] materialize(StackWalker.StackFrame[] frames) {
+                int length = frames.length;
+                StackTraceElement[] res = new StackTraceElement[length];
+                for (int i = 0; i < length; i++) {
+                    res[i] = frames[i].toStackTraceElement();
+                }
+                return res;
+            }
+
+            private static StackTraceElement[] trim(StackTraceElement[] es) {
+                int skip = 0, length = es.length;
+                while (skip < length && es[skip].getClassName().startsWith(className)) skip++;
+                return skip == 0 ? es : java.util.Arrays.copyOfRange(es, skip, length);
+            }
+
+            /**
+             * @return the rendered provenance, formatting it on first call.
+             * */
+            @Override
+            public String get() {
+                String m = message;
+                if (m == null) {
+                    m = printer.toString(elements(), range);
+                    message = m;
+                }
+                return m;
+            }
+
+            /**
+             * @see #get()
+             * */
+            @Override
+            public String toString() {
+                return get();
+            }
+        }
+    }
+
+    final class Collections {
+        private Collections() {}
+
+
+        public static <X> String[] toStringArray(
+                Collection<X> source,
+                ToStringFunction<X> map
+        ) {
+            int length;
+            if (source == null || (length = source.size()) == 0) return template.clone();
+            String[] res = new String[length];
+            Iterator<X> xIterator = source.iterator();
+            for (int i = 0; i < length; i++) {
+                res[i] = map.apply(xIterator.next());
+            }
+            return res;
+        }
+
+        public static <X> String[] toStringArray(
+                Collection<X> source
+        ) throws NullPointerException {
+            int length;
+            if (source == null || (length = source.size()) == 0) return template.clone();
+            String[] res = new String[length];
+            Iterator<X> xIterator = source.iterator();
+            for (int i = 0; i < length; i++) {
+                res[i] = xIterator.next().toString();
+            }
+            return res;
+        }
+
+        /**
+         * Defines which elements of a {@link Collection}, {@link Iterable}, {@link Map} or {@link Stream} will be rendered,
+         * and how many characters the rendering may take.
+         * <ul>
+         *     <li>
+         *         {@link #all}
+         *     </li>
+         *     <li>
+         *         {@link #head(int)}
+         *     </li>
+         *     <li>
+         *         {@link #tail(int)}
+         *     </li>
+         *     <li>
+         *         {@link #of(int, int)}
+         *     </li>
+         *     <li>
+         *         {@link #withMaxChars(int)}
+         *     </li>
+         * </ul>
+         * Omitted elements are replaced by a single {@link #more} marker: {@code "... (N more)"},
+         * or {@code "..."} if the amount cannot be known without a full traversal.
+         * */
+        public static final class Window {
+            static final String more = "...";
+
+            final int head, tail, maxChars;
+
+            private Window(int head, int tail, int maxChars) {
+                if (head < 0 || tail < 0) throw new IllegalArgumentException("head and tail must not be negative, were: " + head + ", " + tail);
+                if (maxChars < 0) throw new IllegalArgumentException("maxChars must not be negative, was: " + maxChars);
+                this.head = head;
+                this.tail = tail;
+                this.maxChars = maxChars;
+            }
+
+            /**
+             * Every element, with no character budget.
+             * */
+            public static final Window all = new Window(Integer.MAX_VALUE, 0, Integer.MAX_VALUE);
+
+            /**
+             * The first {@code n} elements, traversal stops once they have been rendered.
+             * */
+            public static Window head(int n) {
+                return new Window(n, 0, Integer.MAX_VALUE);
+            }
+
+            /**
+             * The last {@code n} elements.
+             * @implNote Non-{@link List} sources are traversed fully, buffering only the last {@code n} elements.
+             * */
+            public static Window tail(int n) {
+                return new Window(0, n, Integer.MAX_VALUE);
+            }
+
+            /**
+             * The first {@code head} and the last {@code tail} elements.
+             * */
+            public static Window of(int head, int tail) {
+                return new Window(head, tail, Integer.MAX_VALUE);
+            }
+
+            /**
+             * Stops rendering elements once the output has reached {@code maxChars} characters (prefix included),
+             * so the cost is bounded by the budget rather than by the size of the source.
+             * <p> The output may exceed the budget by one element, the marker, and the suffix.
+             * <p> With a {@code tail}, sources that are not {@link List}s must be traversed to their end to find it,
+             * unless the budget is already spent by the head, in which case the traversal stops there.
+             * */
+            public Window withMaxChars(int maxChars) {
+                return new Window(head, tail, maxChars);
+            }
+        }
+
+        /**
+         * Default implementation of {@link #appendTo(StringBuilder, String, Iterable, String, String, ToStringFunction, Window)}
+         * following the convention specified at {@link java.util.AbstractCollection#toString()}
+         * */
+        public static<X> String toString(Iterable<X> source) {
+            return toString(Arrays.left, source, Arrays.comma, Arrays.right, ToStringFunction.valueOf(), Window.all);
+        }
+
+        public static<X> String toString(String prefix, Iterable<X> source, String join, String suffix, ToStringFunction<X> map, Window window) {
+            return appendTo(new StringBuilder(), prefix, source, join, suffix, map, window).toString();
+        }
+
+        public static<X> String toString(String prefix, Stream<X> source, String join, String suffix, ToStringFunction<X> map, Window window) {
+            return appendTo(new StringBuilder(), prefix, source, join, suffix, map, window).toString();
+        }
+
+        public static<K, V> String toString(String prefix, Map<K, V> source, String join, String suffix, Window window) {
+            return appendTo(new StringBuilder(), prefix, source, join, suffix, window).toString();
+        }
+
+        /**
+         * Appends the elements of an {@link Iterable} into a caller-owned {@link StringBuilder}, following the convention:
+         * <p> 'prefix' + map.apply(firstElement) + 'join' + ... + 'join' + marker + 'join' + ... + map.apply(finalElement) + 'suffix';
+         * <p> No intermediate array is created.
+         * {@link Collection} sources provide the amount of omitted elements, and {@link List} sources are not traversed past the head
+         * when rendering the tail.
+         * <p> If the source is {@code null}, {@link Arrays#empty} will be appended instead.
+         * @return the same {@code out} instance.
+         * @see Window
+         * */
+        public static<X> StringBuilder appendTo(StringBuilder out, String prefix, Iterable<X> source, String join, String suffix, ToStringFunction<X> map, Window window) {
+            if (source == null) return out.append(Arrays.empty);
+            if (source instanceof List<X> list) {
+                return appendTo(out, prefix, list, join, suffix, map, window);
+            }
+            int size = source instanceof Collection<X> c ? c.size() : -1;
+            return appendTo(out, prefix, source.iterator(), size, join, suffix, map, window);
+        }
+
+        /**
+         * {@link Stream} variant of {@link #appendTo(StringBuilder, String, Iterable, String, String, ToStringFunction, Window)}.
+         * <p> With a head-only {@link Window} the stream is only pulled for the elements rendered.
+         * */
+        public static<X> StringBuilder appendTo(StringBuilder out, String prefix, Stream<X> source, String join, String suffix, ToStringFunction<X> map, Window window) {
+            if (source == null) return out.append(Arrays.empty);
+            Spliterator<X> spliterator = source.spliterator();
+            long size = spliterator.getExactSizeIfKnown();
+            return appendTo(out, prefix, Spliterators.iterator(spliterator),
+                    size > Integer.MAX_VALUE ? -1 : (int) size,
+                    join, suffix, map, window);
+        }
+
+        /**
+         * {@link Map} variant of {@link #appendTo(StringBuilder, String, Iterable, String, String, ToStringFunction, Window)},
+         * where each entry is rendered as: key + '=' + value.
+         * */
+        public static<K, V> StringBuilder appendTo(StringBuilder out, String prefix, Map<K, V> source, String join, String suffix, Window window) {
+            if (source == null) return out.append(Arrays.empty);
+            return appendTo(out, prefix, source.entrySet().iterator(), source.size(), join, suffix, entry(), window);
+        }
+
+        private static final ToStringFunction<Map.Entry<?, ?>> entry = e -> String.valueOf(e.getKey()).concat("=").concat(String.valueOf(e.getValue()));
+
+        @SuppressWarnings("unchecked")
+        private static<K, V> ToStringFunction<Map.Entry<K, V>> entry() {
+            return (ToStringFunction<Map.Entry<K, V>>) (ToStringFunction<?>) entry;
+        }
+
+        private static<X> StringBuilder appendTo(StringBuilder out, String prefix, List<X> source, String join, String suffix, ToStringFunction<X> map, Window window) {
+            int size = source.size();
+            if (window.tail == 0 || (long) window.head + window.tail >= size) {
+                return appendTo(out, prefix, source.iterator(), size, join, suffix, map, window);
+            }
+            long limit = (long) out.length() + window.maxChars;
+            out.append(prefix);
+            boolean first = true;
+            int index = 0;
+            Iterator<X> it = source.iterator();
+            for (; index < window.head; index++) {
+                if (out.length() >= limit) return more(out, first, join, size - index).append(suffix);
+                if (!first) out.append(join);
+                first = false;
+                out.append(map.apply(it.next()));
+            }
+            if (out.length() >= limit) return more(out, first, join, size - index).append(suffix);
+            int tailStart = size - window.tail, gap = out.length();
+            more(out, first, join, tailStart - index);
+            Iterator<X> tail = source.listIterator(tailStart);
+            for (int i = tailStart; i < size; i++) {
+                if (out.length() >= limit) {
+                    // nothing of the tail made it: a single marker for both gaps.
+                    if (i == tailStart) {
+                        out.setLength(gap);
+                        return more(out, first, join, size - index).append(suffix);
+                    }
+                    return more(out, false, join, size - i).append(suffix);
+                }
+                out.append(join).append(map.apply(tail.next()));
+            }
+            return out.append(suffix);
+        }
+
+        /**
+         * @param size the amount of elements of the source, or -1 if unknown.
+         * */
+        private static<X> StringBuilder appendTo(StringBuilder out, String prefix, Iterator<X> it, int size, String join, String suffix, ToStringFunction<X> map, Window window) {
+            long limit = (long) out.length() + window.maxChars;
+            out.append(prefix);
+            boolean first = true;
+            int index = 0;
+            for (; index < window.head && it.hasNext(); index++) {
+                if (out.length() >= limit) return more(out, first, join, size < 0 ? -1 : size - index).append(suffix);
+                X next = it.next();
+                if (!first) out.append(join);
+                first = false;
+                out.append(map.apply(next));
+            }
+            if (!it.hasNext()) return out.append(suffix);
+            if (window.tail == 0 || out.length() >= limit) return more(out, first, join, size < 0 ? -1 : size - index).append(suffix);
+            // tail: a ring buffer of the last elements, the rest are only counted.
+            int tail = window.tail;
+            Object[] ring = new Object[tail];
+            long seen = 0;
+            while (it.hasNext()) {
+                ring[(int) (seen++ % tail)] = it.next();
+            }
+            int kept = (int) Math.min(seen, tail);
+            long omitted = seen - kept;
+            int gap = out.length();
+            boolean headFirst = first;
+            if (omitted > 0) {
+                more(out, first, join, omitted);
+                first = false;
+            }
+            int start = (int) ((seen - kept) % tail);
+            for (int i = 0; i < kept; i++) {
+                if (out.length() >= limit) {
+                    // nothing of the tail made it: a single marker for both gaps.
+                    if (i == 0 && omitted > 0) {
+                        out.setLength(gap);
+                        return more(out, headFirst, join, seen).append(suffix);
+                    }
+                    return more(out, first, join, kept - i).append(suffix);
+                }
+                @SuppressWarnings("unchecked")
+                X next = (X) ring[(start + i) % tail];
+                if (!first) out.append(join);
+                first = false;
+                out.append(map.apply(next));
+            }
+            return out.append(suffix);
+        }
+
+        /**
+         * Appends the {@link Window#more} marker.
+         * @param omitted the amount of elements omitted, or -1 if unknown.
+         * */
+        static StringBuilder more(StringBuilder out, boolean first, String join, long omitted) {
+            if (omitted == 0) return out;
+            if (!first) out.append(join);
+            out.append(Window.more);
+            if (omitted > 0) out.append(" (").append(omitted).append(" more)");
+            return out;
+        }
+    }
+
+    final class Arrays {
+        private Arrays() {}
+
+        /**
+         * Maps an array to a {@link String} array.
+         * @param source the source array.
+         * @param map the function to be applied to each element.
+         * */
+        public static <E> String[] toStringArray(
+                E[] source, ToStringFunction<E> map
+        ) {
+            int length;
+            if (source == null || (length = source.length) == 0) return template.clone();
+            final String[] res = new String[length];
+            for (int i = 0; i < length; i++) {
+                res[i] = map.apply(source[i]);
+            }
+            return res;
+        }
+
+        /**
+         * Maps an array to a {@link String[]} by applying {@link Object#toString()} on each element.
+         * @param source the source array.
+         * */
+        public static <E> String[] toStringArray(
+                E[] source
+        ) throws NullPointerException {
+            int length;
+            if (source == null || (length = source.length) == 0) return template.clone();
+            final String[] res = new String[length];
+            for (int i = 0; i < length; i++) {
+                res[i] = source[i].toString();
+            }
+            return res;
+        }
+
+        public static final String
+                nullS = "null";
+
+        static final String
+                left = "["
+                , left_2 = "=["
+                , right = "]"
+                , comma = ", "
+                , empty = left.concat(right)
+                ;
+
+        /**
+         * Initial {@link StringBuilder} capacity estimator.
+         * <p> Keeps a running average of the rendered width of each element type (keyed by the array's component {@link Class}),
+         * so that buffers are allocated once at the right size instead of going through repeated grow-and-copy cycles.
+         * <p> Updates are plain, racy writes of a single {@code int}: a lost update only delays convergence of the average.
+         * */
+        static final class Capacity {
+            private static final int
+                    defaultWidth = 16
+                    , max = Integer.MAX_VALUE - 8
+                    /*
+                     * Fixed per-element overhead of inspect: "\n [" + "] >> "
+                     * */
+                    , inspectRow = 8
+                    /*
+                     * Length of inspect's closing "\n    }"
+                     * */
+                    , inspectEnd = 6
+                    /*
+                     * Upper bound of any estimate, larger renderings grow their builder as usual.
+                     * */
+                    , maxReserve = 1 << 20
+                    ;
+
+            private static final ClassValue<Capacity> perType = new ClassValue<>() {
+                @Override
+                protected Capacity computeValue(Class<?> type) {
+                    return new Capacity(initialWidth(type));
+                }
+            };
+
+            private int width;
+            /*
+             * The running average is shared by every call site of a type,
+             * so the width it contributes to an estimate is capped at a small multiple of the type's initial width.
+             * */
+            private final int widthCap;
+
+            private Capacity(int width) {
+                this.width = width;
+                this.widthCap = width << 2;
+            }
+
+            private static int initialWidth(Class<?> type) {
+                if (type == int.class || type == Integer.class) return 6;
+                if (type == long.class || type == Long.class) return 10;
+                if (type == double.class || type == Double.class
+                        || type == float.class || type == Float.class) return 18;
+                if (type == boolean.class || type == Boolean.class) return 5;
+                if (type == char.class || type == Character.class) return 1;
+                if (type == byte.class || type == Byte.class
+                        || type == short.class || type == Short.class) return 4;
+                if (type == StackTraceElement.class) return 64;
+                return defaultWidth;
+            }
+
+            static Capacity of(Class<?> componentType) {
+                return perType.get(componentType);
+            }
+
+            static Capacity of(Object array) {
+                return perType.get(array.getClass().getComponentType());
+            }
+
+            /**
+             * @return the estimated length of {@code count} elements separated by {@code join}, plus a {@code fixed} amount of characters.
+             * */
+            int joined(int count, int fixed, int join) {
+                return clamp(fixed + (long) count * width() + (long) (count - 1) * join);
+            }
+
+            /**
+             * Feeds the observed element width back into the running average.
+             * @param written the amount of characters appended, including the {@code fixed} ones.
+             * */
+            void recordJoined(int count, int written, int fixed, int join) {
+                if (count <= 0) return;
+                record((written - fixed - (long) (count - 1) * join) / count);
+            }
+
+            /**
+             * @return the estimated length of an {@code inspect} rendering of {@code count} elements.
+             * */
+            int inspect(int header, int count) {
+                return clamp(header + (long) count * (inspectRow + width()) + indexDigits(count) + inspectEnd);
+            }
+
+            void recordInspect(int count, int written, int header) {
+                if (count <= 0) return;
+                record((written - header - (long) count * inspectRow - indexDigits(count) - inspectEnd) / count);
+            }
+
+            private void record(long observed) {
+                int w = width;
+                width = Math.max(1, w + (((int) Math.min(observed, max)) - w >> 2));
+            }
+
+            private int width() {
+                return Math.min(width, widthCap);
+            }
+
+            private static int clamp(long estimate) {
+                return (int) Math.max(0, Math.min(estimate, maxReserve));
+            }
+
+            /**
+             * Presizes {@code out} to {@code estimate}, clamped to {@code [0, 1 << 20]}, only if it is a fresh, zero-capacity builder created by this class,
+             * caller-owned buffers are never grown from an estimate.
+             * */
+            static void reserve(StringBuilder out, long estimate) {
+                if (out.capacity() == 0) out.ensureCapacity(clamp(estimate));
+            }
+
+            /**
+             * @return the total amount of decimal digits used to print every index between 0 (inclusive) and {@code count} (exclusive).
+             * */
+            static long indexDigits(int count) {
+                long res = count;
+                for (long p = 10; p < count; p *= 10) {
+                    res += count - p;
+                }
+                return res;
+            }
+        }
+
+        /**
+         * Formats a source array to a {@link String} following the convention specified at {@link java.util.Arrays#toString(Object[])}
+         * @param source the array to be mapped.
+         * @param from = the index to begin the formatting (inclusive)
+         * @param to = the index to end (non-inclusive).
+         * @apiNote Information about source's original length and previous indexes will be lost.
+         * */
+        public static<E> String toString(E[] source, int from, int to) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, comma, right, from, to).toString();
+        }
+
+        /**
+         * Formats a source array to a {@link String} by applying the specified function on each element and following the convention defined at {@link java.util.Arrays#toString(Object[])}
+         * @param source the source array to be mapped.
+         * @param map the {@link ToStringFunction} to be applied to each element {@link E}
+         * */
+        static<E> String toString(E[] source, ToStringFunction<E> map) {
+            int length;
+            if (source == null || (length = source.length) == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, comma, right, map, 0, length).toString();
+        }
+        /**
+         * Parameter class that will define the sub-view of the E[] array to be transformed into a String.
+         * <ul>
+         *     <li>
+         *         {@link #all}
+         *     </li>
+         *     <li>
+         *         {@link #first}
+         *     </li>
+         *     <li>
+         *         {@link #last}
+         *     </li>
+         *     <li>
+         *         {@link #limit(int, Limit)}
+         *     </li>
+         *     <li>
+         *         {@link #single(int)}
+         *     </li>
+         *     <li>
+         *         {@link #window(int, int)}
+         *     </li>
+         * </ul>
+         * */
+        public static final class ViewRange {
+            /*
+             * Resolution kinds, the range is resolved by a switch over plain final fields,
+             * so that resolving a range against a length allocates nothing.
+             * */
+            private static final int
+                    ALL = 0
+                    , FIRST = 1
+                    , LAST = 2
+                    , TO_FIRST = 3
+                    , TO_LAST = 4
+                    , WINDOW = 5
+                    , SINGLE = 6
+                    ;
+
+            private final int kind, start, end;
+
+            /**
+             * Defines the 'side' by which the offset begins counting.
+             * */
+            public enum Limit {
+                /**
+                 * Defines order first-to-last
+                 * */
+                toFirst,
+                /**
+                 * Defines order last-to-first
+                 * */
+                toLast
+            }
+
+            /**
+             * The view will comprise the totality of the length of the source array.
+             * */
+            public static ViewRange all = new ViewRange(ALL, 0, 0);
+            /**
+             * The view will return just the first element of the source array.
+             * */
+            public static ViewRange first = new ViewRange(FIRST, 0, 1);
+            /**
+             * The view will return the last element of the source array.
+             * */
+            public static ViewRange last = new ViewRange(LAST, 0, 0);
+
+            private ViewRange(int kind, int start, int end) {
+                this.kind = kind;
+                this.start = start;
+                this.end = end;
+            }
+
+            /**
+             * Amount of interned instances for {@link #limit(int, Limit)} and {@link #single(int)},
+             * arguments in the range [0, {@code cached}) will return a shared instance.
+             * */
+            static final int cached = 32;
+
+            private static final ViewRange[]
+                    toFirstCache = new ViewRange[cached]
+                    , toLastCache = new ViewRange[cached]
+                    , singleCache = new ViewRange[cached];
+
+            static {
+                for (int i = 0; i < cached; i++) {
+                    toFirstCache[i] = new ViewRange(TO_FIRST, 0, i + 1);
+                    toLastCache[i] = new ViewRange(TO_LAST, i, 0);
+                    singleCache[i] = new ViewRange(SINGLE, i, i + 1);
+                }
+            }
+
+            /**
+             * Defines the {@link Limit} of the stack to print.
+             * If the offset surpasses the max length of the stack, the length will be used instead,
+             * returning the stack at index 0, or the last index depending on the direction chosen.
+             * @implNote limits in the range [0, 32) return an interned instance.
+             * */
+            public static ViewRange limit(int limit, Limit direction) {
+                boolean isCached = limit >= 0 && limit < cached;
+                return switch (direction) {
+                    case toLast -> isCached ? toLastCache[limit] : new ViewRange(TO_LAST, limit, 0);
+                    case toFirst -> isCached ? toFirstCache[limit] : new ViewRange(TO_FIRST, 0, limit + 1);
+                };
+            }
+
+            /**
+             * Will create a sub-view of the array that will span between the index
+             * defined at 'start' and the one defined at 'end', both inclusive.
+             * 'start' will truncate at 0, and 'end' at length - 1;
+             * */
+            public static ViewRange window(int start, int end) {
+                return new ViewRange(WINDOW, start, end + 1);
+            }
+
+            /**
+             * Will create view comprised of a single index cell, or:
+             * index 0, if the index is too small.
+             * last index if the value surpassed the length of the array.
+             * @implNote indexes in the range [0, 32) return an interned instance.
+             * */
+            public static ViewRange single(int index) {
+                return index >= 0 && index < cached ?
+                        singleCache[index] : new ViewRange(SINGLE, index, index + 1);
+            }
+
+            /**
+             * @return the unclamped start index (inclusive) of this view over an array of the given {@code length}.
+             * */
+            int start(int length) {
+                return switch (kind) {
+                    case LAST -> length - 1;
+                    case TO_LAST -> (length - 1) - start;
+                    default -> start;
+                };
+            }
+
+            /**
+             * @return the unclamped end index (exclusive) of this view over an array of the given {@code length}.
+             * */
+            int end(int length) {
+                return switch (kind) {
+                    case ALL, LAST, TO_LAST -> length;
+                    default -> end;
+                };
+            }
+
+            interface StringResolve<E> {
+                String toS(E[] es, int s, int e);
+                StringResolve<?> defaultToString = (StringResolve<Object>) Arrays::toString;
+                StringResolve<String> identity = Arrays::toString;
+                @SuppressWarnings("unchecked")
+                static<E> StringResolve<E> getDefault() {
+                    return (StringResolve<E>) defaultToString;
+                }
+            }
+
+            private<E> String apply(E[] es, StringResolve<E> r) {
+                int length = es.length;
+                return r.toS(es, start(length), end(length));
+            }
+        }
+
+        /**
+         * Default implementation of {@link #toString(Object[], int, int)} where both parameters '{@code from}' and '{@code to}' have been replaced by {@link ViewRange}
+         * @see ViewRange
+         * */
+        public static<E> String toString(E[] es, ViewRange range) {
+            return range.apply(es, ViewRange.StringResolve.getDefault());
+        }
+
+        public static String toString(String[] strings, int from, int to) {
+            return toString(
+                    strings, ToStringFunction.identity,
+                    from, to
+            );
+        }
+
+        /**
+         * Default implementation of {@link #toString(Object[], String, int, int)}
+         * <p> where:
+         * <ul>
+         *     <li>
+         *         {@code from} = 0
+         *     </li>
+         *     <li>
+         *         {@code to} = length
+         *     </li>
+         * </ul>
+         *
+         * */
+        public static String toString(String[] strings, String join) {
+            return toString(
+                    strings, join, 0, strings.length
+            );
+        }
+
+        /**
+         * Formats a source array to a {@link String} by applying a {@link ToStringFunction} on each element and
          * following the convention specified at {@link java.util.Arrays#toString(Object[])}
          * @param source the array to be mapped.
          * @param map the mapping function
@@ -418,80 +1557,551 @@ public interface ToStringFunction<T> extends Function<T, String> {
                 , int from
                 , int to
         ) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, comma, right, map, from, to).toString();
+        }
+        /**
+         * @param to = non-inclusive
+         * @param prefix will be appended BEFORE the first {@link #left}
+         * */
+        public static<E> String toString(String prefix, E[] es, String join, ToStringFunction<E> map, int from, int to) {
+            return toString(prefix.concat(left), es, join, right, map, from, to);
+        }
+
+        /**
+         * Formats a source array to a {@link String} by applying a {@link ToStringFunction} on each element and
+         * following the convention:
+         * <p> 'prefix' + map.apply(firstElement) + 'join' + map.apply(secondElement) + 'join' + ... + map.apply(finalElement) + 'suffix';
+         * @param source the array to be mapped.
+         * @param map the mapping function
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @apiNote Information about source's original length and previous indexes will be lost.
+         * */
+        public static<E> String toString(String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), prefix, source, join, suffix, map, from, to).toString();
+        }
+
+        /**
+         * Formats a source array to a {@link String} by applying an inlined {@link String#valueOf(Object)}
+         * following the convention:
+         * <p> 'prefix' + map.apply(firstElement) + 'join' + map.apply(secondElement) + 'join' + ... + map.apply(finalElement) + 'suffix';
+         * @param source the array to be mapped.
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @apiNote Information about source's original length and previous indexes will be lost.
+         * */
+        public static<E> String toString(String prefix, E[] source, String join, String suffix, int from, int to) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), prefix, source, join, suffix, from, to).toString();
+        }
+
+        /**
+         * Appends a source array into a caller-owned {@link StringBuilder} by applying a {@link ToStringFunction} on each element and
+         * following the convention:
+         * <p> 'prefix' + map.apply(firstElement) + 'join' + map.apply(secondElement) + 'join' + ... + map.apply(finalElement) + 'suffix';
+         * <p> If the source is {@code null} or empty, {@link #empty} will be appended instead.
+         * @param out the buffer that will receive the formatted array.
+         * @param source the array to be mapped.
+         * @param map the mapping function
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @return the same {@code out} instance.
+         * @see #toString(String, Object[], String, String, ToStringFunction, int, int)
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to) {
+            int length;
+            if (source == null || (length = source.length) == 0) return out.append(empty);
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            int count = Math.max(finalTo - finalFrom, 1)
+                    , fixed = prefix.length() + suffix.length()
+                    , begin = out.length();
+            Capacity capacity = Capacity.of(source);
+            Capacity.reserve(out, capacity.joined(count, fixed, join.length()));
+            out.append(prefix)
+                    .append(map.apply(source[finalFrom++]));
+            for (; finalFrom < finalTo; finalFrom++) {
+                out.append(join)
+                        .append(map.apply(source[finalFrom]));
+            }
+            out.append(suffix);
+            capacity.recordJoined(count, out.length() - begin, fixed, join.length());
+            return out;
+        }
+
+        /**
+         * Appends a source array into a caller-owned {@link StringBuilder} by applying an inlined {@link String#valueOf(Object)}
+         * following the convention:
+         * <p> 'prefix' + firstElement + 'join' + secondElement + 'join' + ... + finalElement + 'suffix';
+         * <p> If the source is {@code null} or empty, {@link #empty} will be appended instead.
+         * @param out the buffer that will receive the formatted array.
+         * @param source the array to be mapped.
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @return the same {@code out} instance.
+         * @see #toString(String, Object[], String, String, int, int)
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, String prefix, E[] source, String join, String suffix, int from, int to) {
+            int length;
+            if (source == null || (length = source.length) == 0) return out.append(empty);
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            int count = Math.max(finalTo - finalFrom, 1)
+                    , fixed = prefix.length() + suffix.length()
+                    , begin = out.length();
+            Capacity capacity = Capacity.of(source);
+            Capacity.reserve(out, capacity.joined(count, fixed, join.length()));
+            E next;
+            out.append(prefix)
+                    .append((next = source[finalFrom++]) == null ? nullS : next.toString());
+            for (; finalFrom < finalTo; finalFrom++) {
+                out.append(join)
+                        .append((next = source[finalFrom]) == null ? nullS : next.toString());
+            }
+            out.append(suffix);
+            capacity.recordJoined(count, out.length() - begin, fixed, join.length());
+            return out;
+        }
+
+        /**
+         * Default implementation of {@link #appendTo(StringBuilder, String, Object[], String, String, int, int)}
+         * following the convention specified at {@link java.util.Arrays#toString(Object[])}
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, E[] source, int from, int to) {
+            return appendTo(out, left, source, comma, right, from, to);
+        }
+
+        /**
+         * Implementation of {@link #appendTo(StringBuilder, String, Object[], String, String, ToStringFunction, int, int)} that accepts a {@link ViewRange} as parameter,
+         * replacing the parameters '{@code from}' and '{@code to}'.
+         * @see ViewRange
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, ViewRange range) {
+            int length = source.length;
+            return appendTo(out, prefix, source, join, suffix, map, range.start(length), range.end(length));
+        }
+
+        /**
+         * Implementation of {@link #appendTo(StringBuilder, String, Object[], String, String, int, int)} that accepts a {@link ViewRange} as parameter,
+         * replacing the parameters '{@code from}' and '{@code to}'.
+         * @see ViewRange
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, String prefix, E[] source, String join, String suffix, ViewRange range) {
+            int length = source.length;
+            return appendTo(out, prefix, source, join, suffix, range.start(length), range.end(length));
+        }
+
+        /**
+         * Default implementation of {@link #appendTo(StringBuilder, Object[], int, int)} where both parameters '{@code from}' and '{@code to}' have been replaced by {@link ViewRange}
+         * @see ViewRange
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, E[] source, ViewRange range) {
+            return appendTo(out, left, source, comma, right, range);
+        }
+
+        /**
+         * {@link Appendable} variant of {@link #appendTo(StringBuilder, String, Object[], String, String, ToStringFunction, int, int)}
+         * for targets such as {@link java.io.Writer} or {@link java.nio.CharBuffer}.
+         * <p> If the target is a {@link StringBuilder}, the {@link StringBuilder} path will be used instead.
+         * @return the same {@code out} instance.
+         * @throws IOException if the target {@link Appendable} throws while appending.
+         * */
+        public static<E, A extends Appendable> A appendTo(A out, String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to) throws IOException {
+            if (out instanceof StringBuilder sb) {
+                appendTo(sb, prefix, source, join, suffix, map, from, to);
+                return out;
+            }
+            int length;
+            if (source == null || (length = source.length) == 0) {
+                out.append(empty);
+                return out;
+            }
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            out.append(prefix)
+                    .append(map.apply(source[finalFrom++]));
+            for (; finalFrom < finalTo; finalFrom++) {
+                out.append(join)
+                        .append(map.apply(source[finalFrom]));
+            }
+            out.append(suffix);
+            return out;
+        }
+
+        /**
+         * {@link Appendable} variant of {@link #appendTo(StringBuilder, String, Object[], String, String, int, int)}
+         * for targets such as {@link java.io.Writer} or {@link java.nio.CharBuffer}.
+         * <p> If the target is a {@link StringBuilder}, the {@link StringBuilder} path will be used instead.
+         * @return the same {@code out} instance.
+         * @throws IOException if the target {@link Appendable} throws while appending.
+         * */
+        public static<E, A extends Appendable> A appendTo(A out, String prefix, E[] source, String join, String suffix, int from, int to) throws IOException {
+            if (out instanceof StringBuilder sb) {
+                appendTo(sb, prefix, source, join, suffix, from, to);
+                return out;
+            }
+            int length;
+            if (source == null || (length = source.length) == 0) {
+                out.append(empty);
+                return out;
+            }
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            E next;
+            out.append(prefix)
+                    .append((next = source[finalFrom++]) == null ? nullS : next.toString());
+            for (; finalFrom < finalTo; finalFrom++) {
+                out.append(join)
+                        .append((next = source[finalFrom]) == null ? nullS : next.toString());
+            }
+            out.append(suffix);
+            return out;
+        }
+
+        /**
+         * {@link Appendable} variant of {@link #appendTo(StringBuilder, String, Object[], String, String, ToStringFunction, ViewRange)}
+         * @throws IOException if the target {@link Appendable} throws while appending.
+         * */
+        public static<E, A extends Appendable> A appendTo(A out, String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, ViewRange range) throws IOException {
+            int length = source.length;
+            return appendTo(out, prefix, source, join, suffix, map, range.start(length), range.end(length));
+        }
+
+        /**
+         * {@link Appendable} variant of {@link #appendTo(StringBuilder, String, Object[], String, String, ViewRange)}
+         * @throws IOException if the target {@link Appendable} throws while appending.
+         * */
+        public static<E, A extends Appendable> A appendTo(A out, String prefix, E[] source, String join, String suffix, ViewRange range) throws IOException {
+            int length = source.length;
+            return appendTo(out, prefix, source, join, suffix, range.start(length), range.end(length));
+        }
+
+        /**
+         * Appends a {@code int} array into a caller-owned {@link StringBuilder} by applying {@link FromInt#appendTo(StringBuilder, int)} on each element,
+         * following the convention:
+         * <p> 'prefix' + firstElement + 'join' + secondElement + 'join' + ... + finalElement + 'suffix';
+         * <p> If the source is {@code null} or empty, {@link #empty} will be appended instead.
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @return the same {@code out} instance.
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String prefix, int[] source, String join, String suffix, FromInt map, int from, int to) {
+            int length;
+            if (source == null || (length = source.length) == 0) return out.append(empty);
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            int count = Math.max(finalTo - finalFrom, 1)
+                    , fixed = prefix.length() + suffix.length()
+                    , begin = out.length();
+            Capacity capacity = Capacity.of(int.class);
+            Capacity.reserve(out, capacity.joined(count, fixed, join.length()));
+            map.appendTo(out.append(prefix), source[finalFrom++]);
+            for (; finalFrom < finalTo; finalFrom++) {
+                map.appendTo(out.append(join), source[finalFrom]);
+            }
+            out.append(suffix);
+            capacity.recordJoined(count, out.length() - begin, fixed, join.length());
+            return out;
+        }
+
+        /**
+         * Default implementation of {@link #appendTo(StringBuilder, String, int[], String, String, FromInt, int, int)}
+         * where {@code map} = {@link FromInt#valueOf}
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String prefix, int[] source, String join, String suffix, int from, int to) {
+            return appendTo(out, prefix, source, join, suffix, FromInt.valueOf, from, to);
+        }
+
+        /**
+         * Formats a {@code int} array to a {@link String} where the only allocations are the output buffer and the result.
+         * <p> Default implementation of {@link #appendTo(StringBuilder, String, int[], String, String, int, int)}
+         * <p> where:
+         * <ul>
+         *     <li>
+         *         {@code prefix} = {@link #left}
+         *     </li>
+         *     <li>
+         *         {@code suffix} = {@link #right}
+         *     </li>
+         * </ul>
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * */
+        public static String toString(int[] source, String join, int from, int to) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, join, right, from, to).toString();
+        }
+
+        /**
+         * Appends a {@code long} array into a caller-owned {@link StringBuilder} by applying {@link FromLong#appendTo(StringBuilder, long)} on each element,
+         * following the convention:
+         * <p> 'prefix' + firstElement + 'join' + secondElement + 'join' + ... + finalElement + 'suffix';
+         * <p> If the source is {@code null} or empty, {@link #empty} will be appended instead.
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @return the same {@code out} instance.
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String prefix, long[] source, String join, String suffix, FromLong map, int from, int to) {
+            int length;
+            if (source == null || (length = source.length) == 0) return out.append(empty);
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            int count = Math.max(finalTo - finalFrom, 1)
+                    , fixed = prefix.length() + suffix.length()
+                    , begin = out.length();
+            Capacity capacity = Capacity.of(long.class);
+            Capacity.reserve(out, capacity.joined(count, fixed, join.length()));
+            map.appendTo(out.append(prefix), source[finalFrom++]);
+            for (; finalFrom < finalTo; finalFrom++) {
+                map.appendTo(out.append(join), source[finalFrom]);
+            }
+            out.append(suffix);
+            capacity.recordJoined(count, out.length() - begin, fixed, join.length());
+            return out;
+        }
+
+        /**
+         * Default implementation of {@link #appendTo(StringBuilder, String, long[], String, String, FromLong, int, int)}
+         * where {@code map} = {@link FromLong#valueOf}
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String prefix, long[] source, String join, String suffix, int from, int to) {
+            return appendTo(out, prefix, source, join, suffix, FromLong.valueOf, from, to);
+        }
+
+        /**
+         * Formats a {@code long} array to a {@link String} where the only allocations are the output buffer and the result.
+         * <p> Default implementation of {@link #appendTo(StringBuilder, String, long[], String, String, int, int)}
+         * <p> where:
+         * <ul>
+         *     <li>
+         *         {@code prefix} = {@link #left}
+         *     </li>
+         *     <li>
+         *         {@code suffix} = {@link #right}
+         *     </li>
+         * </ul>
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * */
+        public static String toString(long[] source, String join, int from, int to) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, join, right, from, to).toString();
+        }
+
+        /**
+         * Appends a {@code double} array into a caller-owned {@link StringBuilder} by applying {@link FromDouble#appendTo(StringBuilder, double)} on each element,
+         * following the convention:
+         * <p> 'prefix' + firstElement + 'join' + secondElement + 'join' + ... + finalElement + 'suffix';
+         * <p> If the source is {@code null} or empty, {@link #empty} will be appended instead.
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * @return the same {@code out} instance.
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String prefix, double[] source, String join, String suffix, FromDouble map, int from, int to) {
+            int length;
+            if (source == null || (length = source.length) == 0) return out.append(empty);
+            int finalTo = Math.min(to, length);
+            int finalFrom = Math.min(Math.max(from, 0), length - 1);
+            int count = Math.max(finalTo - finalFrom, 1)
+                    , fixed = prefix.length() + suffix.length()
+                    , begin = out.length();
+            Capacity capacity = Capacity.of(double.class);
+            Capacity.reserve(out, capacity.joined(count, fixed, join.length()));
+            map.appendTo(out.append(prefix), source[finalFrom++]);
+            for (; finalFrom < finalTo; finalFrom++) {
+                map.appendTo(out.append(join), source[finalFrom]);
+            }
+            out.append(suffix);
+            capacity.recordJoined(count, out.length() - begin, fixed, join.length());
+            return out;
+        }
+
+        /**
+         * Default implementation of {@link #appendTo(StringBuilder, String, double[], String, String, FromDouble, int, int)}
+         * where {@code map} = {@link FromDouble#valueOf}
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String prefix, double[] source, String join, String suffix, int from, int to) {
+            return appendTo(out, prefix, source, join, suffix, FromDouble.valueOf, from, to);
+        }
+
+        /**
+         * Formats a {@code double} array to a {@link String} where the only allocations are the output buffer and the result.
+         * <p> Default implementation of {@link #appendTo(StringBuilder, String, double[], String, String, int, int)}
+         * <p> where:
+         * <ul>
+         *     <li>
+         *         {@code prefix} = {@link #left}
+         *     </li>
+         *     <li>
+         *         {@code suffix} = {@link #right}
+         *     </li>
+         * </ul>
+         * @param from the index to begin the formatting (inclusive)
+         * @param to the index to end (non-inclusive).
+         * */
+        public static String toString(double[] source, String join, int from, int to) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, join, right, from, to).toString();
+        }
+
+        /**
+         * Budgeted variant of {@link #appendTo(StringBuilder, String, Object[], String, String, ToStringFunction, int, int)},
+         * the cost is bounded by the {@link Budget} rather than by the size of the range.
+         * @see Budget
+         * */
+        public static<E> StringBuilder appendTo(StringBuilder out, String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to, Budget budget) {
             int length;
-            if (source == null || (length = source.length) == 0) return empty;
-            StringBuilder sb = new StringBuilder(left);
+            if (source == null || (length = source.length) == 0) return out.append(empty);
             int finalTo = Math.min(to, length);
             int finalFrom = Math.min(Math.max(from, 0), length - 1);
-            sb.append(
-                    map.apply(source[finalFrom++])
-            );
-            for (; finalFrom < finalTo; finalFrom++) {
-                sb.append(comma)
-                        .append(
-                                map.apply(source[finalFrom])
-                        );
+            int end = finalFrom + Math.max(finalTo - finalFrom, 1)
+                    , allowedEnd = (int) Math.min(end, (long) finalFrom + budget.maxElements)
+                    , begin = out.length();
+            long limit = budget.limit(begin);
+            Capacity.reserve(out, Math.min(
+                    Capacity.of(source).joined(allowedEnd - finalFrom, prefix.length() + suffix.length(), join.length()),
+                    budget.capacity(prefix.length() + suffix.length())
+            ));
+            out.append(prefix);
+            boolean first = true;
+            for (; finalFrom < allowedEnd && out.length() < limit; finalFrom++) {
+                if (!first) out.append(join);
+                first = false;
+                out.append(map.apply(source[finalFrom]));
             }
-            return sb.append(right).toString();
+            return Collections.more(out, first, join, end - finalFrom).append(suffix);
         }
+
         /**
-         * @param to = non-inclusive
-         * @param prefix will be appended BEFORE the first {@link #left}
+         * Budgeted variant of {@link #toString(String, Object[], String, String, ToStringFunction, int, int)}
+         * @see Budget
          * */
-        public static<E> String toString(String prefix, E[] es, String join, ToStringFunction<E> map, int from, int to) {
-            return toString(prefix.concat(left), es, join, right, map, from, to);
+        public static<E> String toString(String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to, Budget budget) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), prefix, source, join, suffix, map, from, to, budget).toString();
         }
 
         /**
-         * Formats a source array to a {@link String} by applying a {@link ToStringFunction} on each element and
-         * following the convention:
-         * <p> 'prefix' + map.apply(firstElement) + 'join' + map.apply(secondElement) + 'join' + ... + map.apply(finalElement) + 'suffix';
-         * @param source the array to be mapped.
-         * @param map the mapping function
-         * @param from the index to begin the formatting (inclusive)
-         * @param to the index to end (non-inclusive).
-         * @apiNote Information about source's original length and previous indexes will be lost.
+         * Budgeted variant of {@link #toString(Object[], int, int)} over the whole array,
+         * following the convention specified at {@link java.util.Arrays#toString(Object[])}
+         * @see Budget
          * */
-        public static<E> String toString(String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to) {
-            int length;
-            if (source == null || (length = source.length) == 0) return empty;
-            int finalTo = Math.min(to, length);
-            int finalFrom = Math.min(Math.max(from, 0), length - 1);
-            StringBuilder sb = new StringBuilder(prefix);
-            sb.append(map.apply(source[finalFrom++]));
-            for (; finalFrom < finalTo; finalFrom++) {
-                sb.append(join)
-                        .append(map.apply(source[finalFrom]));
-            }
-            return sb.append(suffix).toString();
+        public static<E> String toString(E[] source, Budget budget) {
+            if (source == null || source.length == 0) return empty;
+            return appendTo(new StringBuilder(0), left, source, comma, right, ToStringFunction.valueOf(), 0, source.length, budget).toString();
         }
 
         /**
-         * Formats a source array to a {@link String} by applying an inlined {@link String#valueOf(Object)}
-         * following the convention:
-         * <p> 'prefix' + map.apply(firstElement) + 'join' + map.apply(secondElement) + 'join' + ... + map.apply(finalElement) + 'suffix';
-         * @param source the array to be mapped.
-         * @param from the index to begin the formatting (inclusive)
-         * @param to the index to end (non-inclusive).
-         * @apiNote Information about source's original length and previous indexes will be lost.
+         * Default minimum amount of elements in range for {@link #parallelToString(String, Object[], String, String, ToStringFunction, int, int)}
+         * to split the work, below it the sequential path is used.
          * */
-        public static<E> String toString(String prefix, E[] source, String join, String suffix, int from, int to) {
+        public static final int parallelThreshold = 1 << 13;
+
+        /**
+         * Default implementation of {@link #parallelToString(String, Object[], String, String, ToStringFunction, int, int, int)}
+         * where {@code threshold} = {@link #parallelThreshold}
+         * */
+        public static<E> String parallelToString(String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to) {
+            return parallelToString(prefix, source, join, suffix, map, from, to, parallelThreshold);
+        }
+
+        /**
+         * Default implementation of {@link #parallelToString(String, Object[], String, String, ToStringFunction, int, int, int)}
+         * where {@code map} = {@link ToStringFunction#valueOf}
+         * */
+        public static<E> String parallelToString(String prefix, E[] source, String join, String suffix, int from, int to) {
+            return parallelToString(prefix, source, join, suffix, ToStringFunction.valueOf(), from, to, parallelThreshold);
+        }
+
+        /**
+         * Parallel variant of {@link #toString(String, Object[], String, String, ToStringFunction, int, int)}.
+         * <p> The range is split into contiguous chunks formatted on the {@link ForkJoinPool#commonPool()},
+         * each one into its own buffer, which are then concatenated in order.
+         * The output is identical to the one of the sequential overload.
+         * @param threshold if the amount of elements in range is lower than this value, the sequential path will be used instead.
+         * Ranges smaller than a single chunk always take the sequential path.
+         * @implNote The {@code map} function will be applied concurrently, so it must be thread-safe.
+         * Exceptions thrown by the {@code map} are rethrown on the calling thread.
+         * */
+        public static<E> String parallelToString(String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, int from, int to, int threshold) {
             int length;
             if (source == null || (length = source.length) == 0) return empty;
             int finalTo = Math.min(to, length);
             int finalFrom = Math.min(Math.max(from, 0), length - 1);
-            StringBuilder sb = new StringBuilder(prefix);
-            E next;
-            sb.append(
-                    (next = source[finalFrom++]) == null ? nullS : next.toString()
+            int count = finalTo - finalFrom;
+            int parallelism = ForkJoinPool.getCommonPoolParallelism();
+            if (count < Math.max(threshold, ParallelChunks.minGrain) || parallelism < 2) {
+                return toString(prefix, source, join, suffix, map, from, to);
+            }
+            int grain = Math.max(ParallelChunks.minGrain, count / (parallelism * 4));
+            StringBuilder[] parts = new StringBuilder[(count - 1) / grain + 1];
+            ForkJoinPool.commonPool().invoke(
+                    new ParallelChunks<>(source, join, map, finalFrom, grain, parts, 0, parts.length, finalTo)
             );
-            for (; finalFrom < finalTo; finalFrom++) {
-                sb.append(join)
-                        .append((next = source[finalFrom]) == null ? nullS : next.toString());
+            long total = prefix.length() + suffix.length() + (long) (parts.length - 1) * join.length();
+            for (StringBuilder part : parts) {
+                total += part.length();
+            }
+            StringBuilder sb = new StringBuilder((int) Math.min(total, Integer.MAX_VALUE - 8)).append(prefix);
+            sb.append(parts[0]);
+            for (int i = 1; i < parts.length; i++) {
+                sb.append(join).append(parts[i]);
             }
             return sb.append(suffix).toString();
         }
 
+        /**
+         * Formats the chunks in {@code [lo, hi)} of the range, chunk {@code i} spanning the elements
+         * {@code [base + (i * grain), min(base + ((i + 1) * grain), end))}.
+         * */
+        private static final class ParallelChunks<E> extends RecursiveAction {
+            private static final long serialVersionUID = 1L;
+
+            static final int minGrain = 1 << 10;
+
+            private final E[] source;
+            private final String join;
+            private final ToStringFunction<E> map;
+            private final int base, grain, lo, hi, end;
+            private final StringBuilder[] parts;
+
+            private ParallelChunks(E[] source, String join, ToStringFunction<E> map, int base, int grain, StringBuilder[] parts, int lo, int hi, int end) {
+                this.source = source;
+                this.join = join;
+                this.map = map;
+                this.base = base;
+                this.grain = grain;
+                this.parts = parts;
+                this.lo = lo;
+                this.hi = hi;
+                this.end = end;
+            }
+
+            @Override
+            protected void compute() {
+                if (hi - lo > 1) {
+                    int mid = (lo + hi) >>> 1;
+                    invokeAll(
+                            new ParallelChunks<>(source, join, map, base, grain, parts, lo, mid, end),
+                            new ParallelChunks<>(source, join, map, base, grain, parts, mid, hi, end)
+                    );
+                    return;
+                }
+                int from = base + (lo * grain), to = Math.min(from + grain, end);
+                StringBuilder sb = new StringBuilder(
+                        Capacity.of(source).joined(to - from, 0, join.length())
+                );
+                sb.append(map.apply(source[from++]));
+                for (; from < to; from++) {
+                    sb.append(join)
+                            .append(map.apply(source[from]));
+                }
+                parts[lo] = sb;
+            }
+        }
+
         /**
          * Default implementation of {@link #toString(String, Object[], String, String, int, int)}
          * <p> where:
@@ -516,9 +2126,8 @@ public interface ToStringFunction<T> extends Function<T, String> {
          * @see ViewRange
          * */
         static<E> String toString(E[] source, String join, ViewRange range) {
-            return range.apply(source,
-                    (es1, s, e) -> toString(es1, join, s, e)
-            );
+            int length = source.length;
+            return toString(source, join, range.start(length), range.end(length));
         }
 
         /**
@@ -544,6 +2153,527 @@ public interface ToStringFunction<T> extends Function<T, String> {
         }
     }
 
+    /**
+     * UTF-8 byte output for the formatters of this interface.
+     * <p> Renderings are encoded straight into a {@link Sink}, bound to either a {@link ByteBuffer},
+     * an {@link OutputStream} or a {@link WritableByteChannel}, following the same prefix/join/suffix and {@link Arrays.ViewRange}
+     * conventions of {@link Arrays#toString(String, Object[], String, String, ToStringFunction, int, int)}.
+     * <ul>
+     *     <li>
+     *         {@code int} and {@code long} values (primitive or boxed, under {@link ToStringFunction#valueOf}) are written digit by digit.
+     *     </li>
+     *     <li>
+     *         {@link String}s are encoded char by char, with no intermediate {@code char[]} or {@code byte[]}.
+     *     </li>
+     *     <li>
+     *         {@code double} values go through {@link Double#toString(double)}.
+     *     </li>
+     * </ul>
+     * */
+    final class Utf8 {
+        private Utf8() {}
+
+        /**
+         * Default size of the intermediate buffer used by {@link OutputStream} and {@link WritableByteChannel} sinks.
+         * */
+        public static final int bufferSize = 1 << 13;
+
+        /**
+         * Longest encoding of a single UTF-16 unit, or surrogate pair.
+         * */
+        private static final int maxCharBytes = 4;
+
+        /**
+         * Also the longest {@code long} rendering, which bounds the smallest intermediate buffer.
+         * */
+        private static final byte[] minLong = Long.toString(Long.MIN_VALUE).getBytes(StandardCharsets.US_ASCII);
+
+        /**
+         * A UTF-8 byte target.
+         * <p> {@link ByteBuffer} sinks write directly into the target and throw {@link BufferOverflowException} when it is full.
+         * Stream and channel sinks write into an intermediate buffer drained whenever it fills up,
+         * and on {@link #flush()}, which must be called once the rendering is complete.
+         * <p> Sinks are not thread-safe.
+         * */
+        public abstract static class Sink implements Flushable {
+            final ByteBuffer buffer;
+
+            private Sink(ByteBuffer buffer) {
+                this.buffer = buffer;
+            }
+
+            /**
+             * Makes room in the buffer.
+             * */
+            abstract void drain() throws IOException;
+
+            public static Sink of(ByteBuffer target) {
+                return new Sink(target) {
+                    @Override
+                    void drain() {
+                        throw new BufferOverflowException();
+                    }
+
+                    @Override
+                    public void flush() {}
+                };
+            }
+
+            public static Sink of(OutputStream target) {
+                return of(target, bufferSize);
+            }
+
+            public static Sink of(OutputStream target, int bufferSize) {
+                Objects.requireNonNull(target, "target");
+                return new Sink(ByteBuffer.allocate(Math.max(bufferSize, minLong.length))) {
+                    @Override
+                    void drain() throws IOException {
+                        target.write(buffer.array(), 0, buffer.position());
+                        buffer.clear();
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        drain();
+                        target.flush();
+                    }
+                };
+            }
+
+            public static Sink of(WritableByteChannel target) {
+                return of(target, bufferSize);
+            }
+
+            public static Sink of(WritableByteChannel target, int bufferSize) {
+                Objects.requireNonNull(target, "target");
+                return new Sink(ByteBuffer.allocateDirect(Math.max(bufferSize, minLong.length))) {
+                    @Override
+                    void drain() throws IOException {
+                        buffer.flip();
+                        while (buffer.hasRemaining()) target.write(buffer);
+                        buffer.clear();
+                    }
+
+                    @Override
+                    public void flush() throws IOException {
+                        drain();
+                    }
+                };
+            }
+
+            private void require(int bytes) throws IOException {
+                if (buffer.remaining() < bytes) drain();
+            }
+
+            /**
+             * Encodes the characters as UTF-8, unpaired surrogates are replaced by {@code '?'}.
+             * */
+            public Sink append(CharSequence s) throws IOException {
+                ByteBuffer b = buffer;
+                for (int i = 0, length = s.length(); i < length; i++) {
+                    char c = s.charAt(i);
+                    if (c < 0x80) {
+                        if (!b.hasRemaining()) drain();
+                        b.put((byte) c);
+                    } else if (c < 0x800) {
+                        if (b.remaining() < 2) drain();
+                        b.put((byte) (0xC0 | (c >> 6)))
+                                .put((byte) (0x80 | (c & 0x3F)));
+                    } else if (Character.isSurrogate(c)) {
+                        char low;
+                        if (Character.isHighSurrogate(c) && i + 1 < length
+                                && Character.isLowSurrogate(low = s.charAt(i + 1))) {
+                            int cp = Character.toCodePoint(c, low);
+                            i++;
+                            if (b.remaining() < maxCharBytes) drain();
+                            b.put((byte) (0xF0 | (cp >> 18)))
+                                    .put((byte) (0x80 | ((cp >> 12) & 0x3F)))
+                                    .put((byte) (0x80 | ((cp >> 6) & 0x3F)))
+                                    .put((byte) (0x80 | (cp & 0x3F)));
+                        } else {
+                            if (!b.hasRemaining()) drain();
+                            b.put((byte) '?');
+                        }
+                    } else {
+                        if (b.remaining() < 3) drain();
+                        b.put((byte) (0xE0 | (c >> 12)))
+                                .put((byte) (0x80 | ((c >> 6) & 0x3F)))
+                                .put((byte) (0x80 | (c & 0x3F)));
+                    }
+                }
+                return this;
+            }
+
+            /**
+             * Writes pre-encoded bytes.
+             * */
+            public Sink append(byte[] bytes) throws IOException {
+                int offset = 0, length = bytes.length;
+                while (offset < length) {
+                    if (!buffer.hasRemaining()) drain();
+                    int chunk = Math.min(buffer.remaining(), length - offset);
+                    buffer.put(bytes, offset, chunk);
+                    offset += chunk;
+                }
+                return this;
+            }
+
+            public Sink append(long value) throws IOException {
+                if (value == Long.MIN_VALUE) return append(minLong);
+                boolean negative = value < 0;
+                if (negative) value = -value;
+                int digits = 1;
+                for (long p = 10; digits < 19 && value >= p; p *= 10) digits++;
+                int size = negative ? digits + 1 : digits;
+                require(size);
+                ByteBuffer b = buffer;
+                int pos = b.position();
+                if (negative) b.put(pos, (byte) '-');
+                for (int i = pos + size - 1; i >= pos + size - digits; i--) {
+                    b.put(i, (byte) ('0' + (value % 10)));
+                    value /= 10;
+                }
+                b.position(pos + size);
+                return this;
+            }
+
+            public Sink append(int value) throws IOException {
+                return append((long) value);
+            }
+
+            public Sink append(double value) throws IOException {
+                return append(Double.toString(value));
+            }
+
+            /**
+             * Writes the value as {@link String#valueOf(Object)} would,
+             * integral boxed numbers are written digit by digit.
+             * */
+            Sink appendValue(Object value) throws IOException {
+                if (value == null) return append(Arrays.nullS);
+                if (value instanceof String str) return append(str);
+                if (value instanceof Integer i) return append(i.intValue());
+                if (value instanceof Long l) return append(l.longValue());
+                if (value instanceof Short sh) return append(sh.intValue());
+                if (value instanceof Byte by) return append(by.intValue());
+                return append(value.toString());
+            }
+
+            /**
+             * UTF-8 variant of {@link Arrays#appendTo(StringBuilder, String, Object[], String, String, ToStringFunction, Arrays.ViewRange)}.
+             * @return this sink.
+             * */
+            public<E> Sink append(String prefix, E[] source, String join, String suffix, ToStringFunction<E> map, Arrays.ViewRange range) throws IOException {
+                int length;
+                if (source == null || (length = source.length) == 0) return append(Arrays.empty);
+                int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                        , to = Math.min(range.end(length), length);
+                append(prefix);
+                if (map.isValueOf()) {
+                    appendValue(source[from++]);
+                    for (; from < to; from++) {
+                        append(join).appendValue(source[from]);
+                    }
+                } else {
+                    append(map.apply(source[from++]));
+                    for (; from < to; from++) {
+                        append(join).append(map.apply(source[from]));
+                    }
+                }
+                return append(suffix);
+            }
+
+            /**
+             * Default implementation of {@link #append(String, Object[], String, String, ToStringFunction, Arrays.ViewRange)}
+             * where {@code map} = {@link ToStringFunction#valueOf}
+             * */
+            public<E> Sink append(String prefix, E[] source, String join, String suffix, Arrays.ViewRange range) throws IOException {
+                return append(prefix, source, join, suffix, ToStringFunction.valueOf(), range);
+            }
+
+            /**
+             * Renders the source through a {@link Template}, using its pre-encoded constant parts.
+             * @return this sink.
+             * */
+            public<E> Sink append(Template<E> template, E[] source) throws IOException {
+                int length;
+                if (source == null || (length = source.length) == 0) return append(Arrays.empty);
+                Arrays.ViewRange range = template.range;
+                int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                        , to = Math.min(range.end(length), length);
+                ToStringFunction<E> map = template.map;
+                byte[] join = template.joinBytes;
+                append(template.prefixBytes);
+                if (map.isValueOf() || map.isIdentity()) {
+                    appendValue(source[from++]);
+                    for (; from < to; from++) {
+                        append(join).appendValue(source[from]);
+                    }
+                } else {
+                    append(map.apply(source[from++]));
+                    for (; from < to; from++) {
+                        append(join).append(map.apply(source[from]));
+                    }
+                }
+                return append(template.suffixBytes);
+            }
+
+            public Sink append(String prefix, int[] source, String join, String suffix, Arrays.ViewRange range) throws IOException {
+                int length;
+                if (source == null || (length = source.length) == 0) return append(Arrays.empty);
+                int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                        , to = Math.min(range.end(length), length);
+                append(prefix).append(source[from++]);
+                for (; from < to; from++) {
+                    append(join).append(source[from]);
+                }
+                return append(suffix);
+            }
+
+            public Sink append(String prefix, long[] source, String join, String suffix, Arrays.ViewRange range) throws IOException {
+                int length;
+                if (source == null || (length = source.length) == 0) return append(Arrays.empty);
+                int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                        , to = Math.min(range.end(length), length);
+                append(prefix).append(source[from++]);
+                for (; from < to; from++) {
+                    append(join).append(source[from]);
+                }
+                return append(suffix);
+            }
+
+            public Sink append(String prefix, double[] source, String join, String suffix, Arrays.ViewRange range) throws IOException {
+                int length;
+                if (source == null || (length = source.length) == 0) return append(Arrays.empty);
+                int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                        , to = Math.min(range.end(length), length);
+                append(prefix).append(source[from++]);
+                for (; from < to; from++) {
+                    append(join).append(source[from]);
+                }
+                return append(suffix);
+            }
+        }
+    }
+
+    /**
+     * Bounds the cost of a rendering, regardless of the size of its source.
+     * <ul>
+     *     <li>
+     *         {@code maxChars}: once the output reaches this length, no more elements are rendered.
+     *     </li>
+     *     <li>
+     *         {@code maxElements}: the maximum amount of elements rendered.
+     *     </li>
+     * </ul>
+     * When the budget is hit, iteration stops and the omitted elements are replaced by a single marker: {@code "... (N more)"}.
+     * <p> The output may exceed {@code maxChars} by one element, the marker, and the closing part of the format.
+     * @see Arrays#toString(String, Object[], String, String, ToStringFunction, int, int, Budget)
+     * @see ToStringFunction#inspect(Object[][], Budget)
+     * */
+    final class Budget {
+        final int maxChars, maxElements;
+
+        private Budget(int maxChars, int maxElements) {
+            if (maxChars < 0) throw new IllegalArgumentException("maxChars must not be negative, was: " + maxChars);
+            if (maxElements < 0) throw new IllegalArgumentException("maxElements must not be negative, was: " + maxElements);
+            this.maxChars = maxChars;
+            this.maxElements = maxElements;
+        }
+
+        /**
+         * No limits.
+         * */
+        public static final Budget unlimited = new Budget(Integer.MAX_VALUE, Integer.MAX_VALUE);
+
+        public static Budget of(int maxChars, int maxElements) {
+            return new Budget(maxChars, maxElements);
+        }
+
+        public static Budget chars(int maxChars) {
+            return new Budget(maxChars, Integer.MAX_VALUE);
+        }
+
+        public static Budget elements(int maxElements) {
+            return new Budget(Integer.MAX_VALUE, maxElements);
+        }
+
+        /**
+         * @return the character limit relative to an output that begins at {@code begin}.
+         * */
+        long limit(int begin) {
+            return (long) begin + maxChars;
+        }
+
+        /**
+         * @return the largest buffer worth allocating for this budget, given an amount of {@code fixed} characters.
+         * */
+        int capacity(int fixed) {
+            return (int) Math.min((long) maxChars + fixed, Integer.MAX_VALUE - 8);
+        }
+
+        @Override
+        public String toString() {
+            return "Budget{" +
+                    "maxChars=" + maxChars +
+                    ", maxElements=" + maxElements +
+                    "}";
+        }
+    }
+
+    /**
+     * A compiled rendering of arrays, following the convention:
+     * <p> 'prefix' + map.apply(firstElement) + 'join' + map.apply(secondElement) + 'join' + ... + map.apply(finalElement) + 'suffix';
+     * <p> All parameters are resolved once on creation:
+     * <ul>
+     *     <li>
+     *         The constant parts' lengths and UTF-8 encodings are precomputed.
+     *     </li>
+     *     <li>
+     *         {@link ToStringFunction#identity} and {@link ToStringFunction#valueOf} maps are detected
+     *         (via {@link #isIdentity()} and {@link #isValueOf()}) and replaced by inlined loops.
+     *     </li>
+     * </ul>
+     * The output is identical to the one of {@link Arrays#toString(String, Object[], String, String, ToStringFunction, int, int)}
+     * over the range resolved by the {@link Arrays.ViewRange}.
+     * <p> Instances are immutable and safe to share.
+     * */
+    final class Template<E> {
+        private static final int
+                MAP = 0
+                , VALUE_OF = 1
+                , IDENTITY = 2
+                ;
+
+        final String prefix, join, suffix;
+        final byte[] prefixBytes, joinBytes, suffixBytes;
+        final int fixed, joinLength;
+        final ToStringFunction<E> map;
+        final Arrays.ViewRange range;
+        private final int kind;
+
+        private Template(String prefix, String join, String suffix, ToStringFunction<E> map, Arrays.ViewRange range) {
+            this.prefix = Objects.requireNonNull(prefix, "prefix");
+            this.join = Objects.requireNonNull(join, "join");
+            this.suffix = Objects.requireNonNull(suffix, "suffix");
+            this.map = Objects.requireNonNull(map, "map");
+            this.range = Objects.requireNonNull(range, "range");
+            this.prefixBytes = prefix.getBytes(StandardCharsets.UTF_8);
+            this.joinBytes = join.getBytes(StandardCharsets.UTF_8);
+            this.suffixBytes = suffix.getBytes(StandardCharsets.UTF_8);
+            this.fixed = prefix.length() + suffix.length();
+            this.joinLength = join.length();
+            this.kind = map.isIdentity() ? IDENTITY : map.isValueOf() ? VALUE_OF : MAP;
+        }
+
+        public static<E> Template<E> of(String prefix, String join, String suffix, ToStringFunction<E> map, Arrays.ViewRange range) {
+            return new Template<>(prefix, join, suffix, map, range);
+        }
+
+        /**
+         * Default implementation of {@link #of(String, String, String, ToStringFunction, Arrays.ViewRange)}
+         * where:
+         * <ul>
+         *     <li>
+         *         {@code map} = {@link ToStringFunction#valueOf}
+         *     </li>
+         *     <li>
+         *         {@code range} = {@link Arrays.ViewRange#all}
+         *     </li>
+         * </ul>
+         * */
+        public static<E> Template<E> of(String prefix, String join, String suffix) {
+            return new Template<>(prefix, join, suffix, ToStringFunction.valueOf(), Arrays.ViewRange.all);
+        }
+
+        /**
+         * @return the formatted source, or {@link Arrays#empty} if the source is {@code null} or empty.
+         * */
+        public String render(E[] source) {
+            int length;
+            if (source == null || (length = source.length) == 0) return Arrays.empty;
+            return appendTo(new StringBuilder(0), source, length).toString();
+        }
+
+        /**
+         * Appends the formatted source into a caller-owned {@link StringBuilder}.
+         * @return the same {@code out} instance.
+         * */
+        public StringBuilder appendTo(StringBuilder out, E[] source) {
+            int length;
+            if (source == null || (length = source.length) == 0) return out.append(Arrays.empty);
+            return appendTo(out, source, length);
+        }
+
+        /**
+         * {@link Appendable} variant of {@link #appendTo(StringBuilder, Object[])}.
+         * @throws IOException if the target {@link Appendable} throws while appending.
+         * */
+        public<A extends Appendable> A appendTo(A out, E[] source) throws IOException {
+            if (out instanceof StringBuilder sb) {
+                appendTo(sb, source);
+                return out;
+            }
+            int length;
+            if (source == null || (length = source.length) == 0) {
+                out.append(Arrays.empty);
+                return out;
+            }
+            int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                    , to = Math.min(range.end(length), length);
+            out.append(prefix).append(map.apply(source[from++]));
+            for (; from < to; from++) {
+                out.append(join).append(map.apply(source[from]));
+            }
+            out.append(suffix);
+            return out;
+        }
+
+        private StringBuilder appendTo(StringBuilder out, E[] source, int length) {
+            int from = Math.min(Math.max(range.start(length), 0), length - 1)
+                    , to = Math.min(range.end(length), length)
+                    , count = Math.max(to - from, 1)
+                    , begin = out.length();
+            Arrays.Capacity capacity = Arrays.Capacity.of(source);
+            Arrays.Capacity.reserve(out, capacity.joined(count, fixed, joinLength));
+            out.append(prefix);
+            switch (kind) {
+                case IDENTITY -> {
+                    out.append((String) source[from++]);
+                    for (; from < to; from++) {
+                        out.append(join).append((String) source[from]);
+                    }
+                }
+                case VALUE_OF -> {
+                    E next;
+                    out.append((next = source[from++]) == null ? Arrays.nullS : next.toString());
+                    for (; from < to; from++) {
+                        out.append(join).append((next = source[from]) == null ? Arrays.nullS : next.toString());
+                    }
+                }
+                default -> {
+                    out.append(map.apply(source[from++]));
+                    for (; from < to; from++) {
+                        out.append(join).append(map.apply(source[from]));
+                    }
+                }
+            }
+            out.append(suffix);
+            capacity.recordJoined(count, out.length() - begin, fixed, joinLength);
+            return out;
+        }
+
+        @Override
+        public String toString() {
+            return "Template{" +
+                    "prefix='" + prefix + '\'' +
+                    ", join='" + join + '\'' +
+                    ", suffix='" + suffix + '\'' +
+                    ", map=" + (kind == IDENTITY ? "identity" : kind == VALUE_OF ? "valueOf" : map) +
+                    "}";
+        }
+    }
+
     /**
      * Instance for lambda reference of {@link String#valueOf(Object)}
      * */
@@ -598,30 +2728,92 @@ public interface ToStringFunction<T> extends Function<T, String> {
     interface FromInt {
         String asString(int integer);
 
+        /**
+         * Appends the formatted value into the builder.
+         * @implNote The default implementation appends the result of {@link #asString(int)},
+         * {@link #valueOf} overrides it to write the digits directly into the builder with no intermediate {@link String}.
+         * @return the same {@code sb} instance.
+         * */
+        default StringBuilder appendTo(StringBuilder sb, int integer) {
+            return sb.append(asString(integer));
+        }
+
         default ToStringFunction<Integer> as() {
             return this::asString;
         }
 
-        FromInt valueOf = String::valueOf;
+        FromInt valueOf = new FromInt() {
+            @Override
+            public String asString(int integer) {
+                return String.valueOf(integer);
+            }
+
+            @Override
+            public StringBuilder appendTo(StringBuilder sb, int integer) {
+                return sb.append(integer);
+            }
+        };
     }
 
     @FunctionalInterface
     interface FromDouble {
         String asString(double aDouble);
+
+        /**
+         * Appends the formatted value into the builder.
+         * @implNote The default implementation appends the result of {@link #asString(double)},
+         * {@link #valueOf} overrides it to write the digits directly into the builder with no intermediate {@link String}.
+         * @return the same {@code sb} instance.
+         * */
+        default StringBuilder appendTo(StringBuilder sb, double aDouble) {
+            return sb.append(asString(aDouble));
+        }
+
         default ToStringFunction<Double> as() {
             return this::asString;
         }
 
-        FromDouble valueOf = String::valueOf;
+        FromDouble valueOf = new FromDouble() {
+            @Override
+            public String asString(double aDouble) {
+                return String.valueOf(aDouble);
+            }
+
+            @Override
+            public StringBuilder appendTo(StringBuilder sb, double aDouble) {
+                return sb.append(aDouble);
+            }
+        };
     }
     @FunctionalInterface
     interface FromLong {
         String asString(long aLong);
+
+        /**
+         * Appends the formatted value into the builder.
+         * @implNote The default implementation appends the result of {@link #asString(long)},
+         * {@link #valueOf} overrides it to write the digits directly into the builder with no intermediate {@link String}.
+         * @return the same {@code sb} instance.
+         * */
+        default StringBuilder appendTo(StringBuilder sb, long aLong) {
+            return sb.append(asString(aLong));
+        }
+
         default ToStringFunction<Long> as() {
             return this::asString;
         }
 
-        FromLong valueOf = String::valueOf;
+        FromLong valueOf = new FromLong() {
+            @Override
+            public String asString(long aLong) {
+                return String.valueOf(aLong);
+            }
+
+            @Override
+            public StringBuilder appendTo(StringBuilder sb, long aLong) {
+                return sb.append(aLong);
+            }
+        };
     }
 
     /**
@@ -643,11 +2835,15 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (array == null || (length = array.length) == 0) {
             return array == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getBuilder(array.getClass(), length);
+        Arrays.Capacity capacity = Arrays.Capacity.of(array);
+        StringBuilder builder = getBuilder(array.getClass(), length, capacity);
+        int header = builder.length();
         for (int i = 0; i < length; i++) {
             builder.append("\n [").append(i).append("] >> ").append(array[i]);
         }
-        return builder.append("\n    }").toString();
+        builder.append("\n    }");
+        capacity.recordInspect(length, builder.length(), header);
+        return builder.toString();
     }
     /**
      * Similar behavior to {@link #inspect(Object[])} that applyies a {@link ToStringFunction} to each of the elements of the array.
@@ -659,11 +2855,15 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (array == null || (length = array.length) == 0) {
             return array == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getBuilder(array.getClass(), length);
+        Arrays.Capacity capacity = Arrays.Capacity.of(array);
+        StringBuilder builder = getBuilder(array.getClass(), length, capacity);
+        int header = builder.length();
         for (int i = 0; i < length; i++) {
             builder.append("\n [").append(i).append("] >> ").append(map.apply(array[i]));
         }
-        return builder.append("\n    }").toString();
+        builder.append("\n    }");
+        capacity.recordInspect(length, builder.length(), header);
+        return builder.toString();
     }
     static<T> String inspect(double[] doubles) {
         return inspect(doubles, FromDouble.valueOf);
@@ -673,11 +2873,15 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (doubles == null || (length = doubles.length) == 0) {
             return doubles == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getBuilder(doubles.getClass(), length);
+        Arrays.Capacity capacity = Arrays.Capacity.of(doubles);
+        StringBuilder builder = getBuilder(doubles.getClass(), length, capacity);
+        int header = builder.length();
         for (int i = 0; i < length; i++) {
-            builder.append("\n [").append(i).append("] >> ").append(toString.asString(doubles[i]));
+            toString.appendTo(builder.append("\n [").append(i).append("] >> "), doubles[i]);
         }
-        return builder.append("\n    }").toString();
+        builder.append("\n    }");
+        capacity.recordInspect(length, builder.length(), header);
+        return builder.toString();
     }
     static<T> String inspect(long[] longs) {
         return inspect(longs, FromLong.valueOf);
@@ -690,24 +2894,36 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (longs == null || (length = longs.length) == 0) {
             return longs == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getBuilder(longs.getClass(), length);
+        Arrays.Capacity capacity = Arrays.Capacity.of(longs);
+        StringBuilder builder = getBuilder(longs.getClass(), length, capacity);
+        int header = builder.length();
         for (int i = 0; i < length; i++) {
-            builder.append("\n [").append(i).append("] >> ").append(toString.asString(longs[i]));
+            toString.appendTo(builder.append("\n [").append(i).append("] >> "), longs[i]);
         }
-        return builder.append("\n    }").toString();
+        builder.append("\n    }");
+        capacity.recordInspect(length, builder.length(), header);
+        return builder.toString();
     }
 
-    private static StringBuilder getBuilder(Class<?> aClass, int length) {
-        return getStringBuilder(aClass.getComponentType().toString(), length);
+    private static StringBuilder getBuilder(Class<?> aClass, int length, Arrays.Capacity capacity) {
+        return getStringBuilder(aClass.getComponentType().toString(), length, capacity, length);
     }
 
-    private static StringBuilder getStringBuilder(String componentType, int length) {
+    /**
+     * @param cells the total amount of elements that will be printed, used to presize the builder.
+     * */
+    private static StringBuilder getStringBuilder(String componentType, int length, Arrays.Capacity capacity, int cells) {
+        String header = header(componentType, length);
         return new StringBuilder(
-                "Reading Array..." +
-                        "\n >> Type: " + componentType +
-                        "\n >> Length: " + length +
-                        "\n >> Contents: {"
-        );
+                capacity.inspect(header.length(), cells)
+        ).append(header);
+    }
+
+    private static String header(String componentType, int length) {
+        return "Reading Array..." +
+                "\n >> Type: " + componentType +
+                "\n >> Length: " + length +
+                "\n >> Contents: {";
     }
 
     static<T> String inspect(int[] ints, FromInt toString) {
@@ -715,11 +2931,15 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (ints == null || (length = ints.length) == 0) {
             return ints == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getBuilder(ints.getClass(), length);
+        Arrays.Capacity capacity = Arrays.Capacity.of(ints);
+        StringBuilder builder = getBuilder(ints.getClass(), length, capacity);
+        int header = builder.length();
         for (int i = 0; i < length; i++) {
-            builder.append("\n [").append(i).append("] >> ").append(toString.asString(ints[i]));
+            toString.appendTo(builder.append("\n [").append(i).append("] >> "), ints[i]);
         }
-        return builder.append("\n    }").toString();
+        builder.append("\n    }");
+        capacity.recordInspect(length, builder.length(), header);
+        return builder.toString();
     }
 
     static String inspect(double[][] ts) {
@@ -727,7 +2947,7 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (ts == null || (length = ts.length) == 0) {
             return ts == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getStringBuilder("double[][]", length);
+        StringBuilder builder = getStringBuilder("double[][]", length, Arrays.Capacity.of(double.class), cells(ts));
         for (int i = 0; i < length; i++) {
             double[] aDs = ts[i];
             builder.append("\n <*> row: [").append(i).append("]");
@@ -743,7 +2963,9 @@ public interface ToStringFunction<T> extends Function<T, String> {
         if (ts == null || (length = ts.length) == 0) {
             return ts == null ? "Array is null" : "Array is empty";
         }
-        StringBuilder builder = getBuilder(ts.getClass(), length);
+        StringBuilder builder = getStringBuilder(
+                ts.getClass().getComponentType().toString(), length,
+                Arrays.Capacity.of(ts.getClass().getComponentType().getComponentType()), cells(ts));
         for (int i = 0; i < length; i++) {
             E[] aDs = ts[i];
             builder.append("\n <*> row: [").append(i).append("]");
@@ -754,14 +2976,552 @@ public interface ToStringFunction<T> extends Function<T, String> {
         return builder.append("\n    }").toString();
     }
 
-    /**Used for SQL statements*/
+    /**
+     * Budgeted variant of {@link #inspect(Object[])}
+     * @see Budget
+     * */
+    static<E> String inspect(E[] array, Budget budget) {
+        return inspect(array, ToStringFunction.valueOf(), budget);
+    }
+
+    /**
+     * Budgeted variant of {@link #inspect(Object[], ToStringFunction)}
+     * @see Budget
+     * */
+    static<E> String inspect(E[] array, ToStringFunction<E> map, Budget budget) {
+        int length;
+        if (array == null || (length = array.length) == 0) {
+            return array == null ? "Array is null" : "Array is empty";
+        }
+        String header = header(array.getClass().getComponentType().toString(), length);
+        int allowed = Math.min(length, budget.maxElements);
+        StringBuilder builder = new StringBuilder(
+                Math.min(Arrays.Capacity.of(array).inspect(header.length(), allowed), budget.capacity(header.length()))
+        ).append(header);
+        long limit = budget.limit(0);
+        int i = 0;
+        for (; i < allowed && builder.length() < limit; i++) {
+            builder.append("\n [").append(i).append("] >> ").append(map.apply(array[i]));
+        }
+        return more(builder, "\n ", length - i).append("\n    }").toString();
+    }
+
+    /**
+     * Budgeted variant of {@link #inspect(double[][])}, where each cell accounts for an element.
+     * <p> When the budget is hit, both the remaining cells of the current row and the remaining rows are marked as omitted.
+     * @see Budget
+     * */
+    static String inspect(double[][] ts, Budget budget) {
+        int length;
+        if (ts == null || (length = ts.length) == 0) {
+            return ts == null ? "Array is null" : "Array is empty";
+        }
+        String header = header("double[][]", length);
+        StringBuilder builder = budgetBuilder(header, Arrays.Capacity.of(double.class), budget);
+        long limit = budget.limit(0);
+        int elements = budget.maxElements, i = 0;
+        for (; i < length; i++) {
+            if (elements <= 0 || builder.length() >= limit) break;
+            double[] aDs = ts[i];
+            builder.append("\n <*> row: [").append(i).append("]");
+            int j = 0;
+            for (; j < aDs.length && elements > 0 && builder.length() < limit; j++, elements--) {
+                builder.append("\n    [").append(j).append("] >> ").append(aDs[j]);
+            }
+            more(builder, "\n    ", aDs.length - j);
+        }
+        return moreRows(builder, length - i).append("\n    }").toString();
+    }
+
+    /**
+     * Budgeted variant of {@link #inspect(Object[][])}, where each cell accounts for an element.
+     * <p> When the budget is hit, both the remaining cells of the current row and the remaining rows are marked as omitted.
+     * @see Budget
+     * */
+    static<E> String inspect(E[][] ts, Budget budget) {
+        int length;
+        if (ts == null || (length = ts.length) == 0) {
+            return ts == null ? "Array is null" : "Array is empty";
+        }
+        Class<?> rowType = ts.getClass().getComponentType();
+        String header = header(rowType.toString(), length);
+        StringBuilder builder = budgetBuilder(header, Arrays.Capacity.of(rowType.getComponentType()), budget);
+        long limit = budget.limit(0);
+        int elements = budget.maxElements, i = 0;
+        for (; i < length; i++) {
+            if (elements <= 0 || builder.length() >= limit) break;
+            E[] aDs = ts[i];
+            builder.append("\n <*> row: [").append(i).append("]");
+            int j = 0;
+            for (; j < aDs.length && elements > 0 && builder.length() < limit; j++, elements--) {
+                builder.append("\n    [").append(j).append("] >> ").append(aDs[j]);
+            }
+            more(builder, "\n    ", aDs.length - j);
+        }
+        return moreRows(builder, length - i).append("\n    }").toString();
+    }
+
+    private static StringBuilder budgetBuilder(String header, Arrays.Capacity capacity, Budget budget) {
+        return new StringBuilder(
+                Math.min(capacity.inspect(header.length(), Math.min(budget.maxElements, 1 << 16)), budget.capacity(header.length()))
+        ).append(header);
+    }
+
+    private static StringBuilder more(StringBuilder builder, String indent, int omitted) {
+        return omitted <= 0 ? builder
+                : builder.append(indent).append(Collections.Window.more).append(" (").append(omitted).append(" more)");
+    }
+
+    private static StringBuilder moreRows(StringBuilder builder, int omitted) {
+        return omitted <= 0 ? builder
+                : builder.append("\n ").append(Collections.Window.more).append(" (").append(omitted).append(" more rows)");
+    }
+
+    /**
+     * @return the amount of cells plus rows of a 2D array, rows being accounted as an additional cell each.
+     * */
+    private static int cells(double[][] rows) {
+        long res = rows.length;
+        for (double[] row : rows) {
+            res += row.length;
+        }
+        return (int) Math.min(res, Integer.MAX_VALUE);
+    }
+
+    private static int cells(Object[][] rows) {
+        long res = rows.length;
+        for (Object[] row : rows) {
+            res += row.length;
+        }
+        return (int) Math.min(res, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Streaming variant of {@link #inspect(double[][])}, written row by row into {@code out}.
+     * @see Inspector
+     * */
+    static<A extends Appendable> A inspect(A out, double[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), "double[][]", ts, Inspector.Cells.DOUBLE, rows, columns);
+        return out;
+    }
+
+    /**
+     * Streaming variant of {@link #inspect(double[][])} for {@code int[][]} matrices.
+     * @see Inspector
+     * */
+    static<A extends Appendable> A inspect(A out, int[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), "int[][]", ts, Inspector.Cells.INT, rows, columns);
+        return out;
+    }
+
+    /**
+     * Streaming variant of {@link #inspect(double[][])} for {@code long[][]} matrices.
+     * @see Inspector
+     * */
+    static<A extends Appendable> A inspect(A out, long[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), "long[][]", ts, Inspector.Cells.LONG, rows, columns);
+        return out;
+    }
+
+    /**
+     * Streaming variant of {@link #inspect(Object[][])}, written row by row into {@code out}.
+     * @see Inspector
+     * */
+    static<E, A extends Appendable> A inspect(A out, E[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), ts == null ? null : ts.getClass().getComponentType().toString(),
+                ts, Inspector.Cells.OBJECT, rows, columns);
+        return out;
+    }
+
+    /**
+     * UTF-8 variant of {@link #inspect(Appendable, double[][], Arrays.ViewRange, Arrays.ViewRange)}, for byte targets such as channels.
+     * */
+    static Utf8.Sink inspect(Utf8.Sink out, double[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), "double[][]", ts, Inspector.Cells.DOUBLE, rows, columns);
+        return out;
+    }
+
+    static Utf8.Sink inspect(Utf8.Sink out, int[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), "int[][]", ts, Inspector.Cells.INT, rows, columns);
+        return out;
+    }
+
+    static Utf8.Sink inspect(Utf8.Sink out, long[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), "long[][]", ts, Inspector.Cells.LONG, rows, columns);
+        return out;
+    }
+
+    static<E> Utf8.Sink inspect(Utf8.Sink out, E[][] ts, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+        Inspector.stream(Inspector.Target.of(out), ts == null ? null : ts.getClass().getComponentType().toString(),
+                ts, Inspector.Cells.OBJECT, rows, columns);
+        return out;
+    }
+
+    /**
+     * Row by row rendering of 2D arrays for the streaming {@code inspect(out, ts, rows, columns)} overloads.
+     * <ul>
+     *     <li>
+     *         Cells are staged in a {@link StringBuilder} of at most {@link #bufferSize} chars (plus one cell),
+     *         which is written to the target, and the target flushed, every time it fills up, and once the rendering completes.
+     *     </li>
+     *     <li>
+     *         {@code rows} and {@code columns} select a window of the matrix, indices are kept as in the source,
+     *         and the rows and cells left out are marked as omitted.
+     *         Under {@link Arrays.ViewRange#all} the output is the same as {@link #inspect(double[][])}.
+     *     </li>
+     *     <li>
+     *         {@code null} rows are rendered as {@code null}.
+     *     </li>
+     * </ul>
+     * */
+    final class Inspector {
+        private Inspector() {}
+
+        public static final int bufferSize = 1 << 13;
+
+        enum Cells {
+            DOUBLE, INT, LONG, OBJECT;
+
+            int length(Object row) {
+                return switch (this) {
+                    case DOUBLE -> ((double[]) row).length;
+                    case INT -> ((int[]) row).length;
+                    case LONG -> ((long[]) row).length;
+                    case OBJECT -> ((Object[]) row).length;
+                };
+            }
+
+            void append(StringBuilder builder, Object row, int j) {
+                switch (this) {
+                    case DOUBLE -> builder.append(((double[]) row)[j]);
+                    case INT -> builder.append(((int[]) row)[j]);
+                    case LONG -> builder.append(((long[]) row)[j]);
+                    case OBJECT -> builder.append(((Object[]) row)[j]);
+                }
+            }
+        }
+
+        /**
+         * Destination of the staged chunks.
+         * */
+        abstract static class Target {
+            abstract void write(StringBuilder chunk) throws IOException;
+
+            abstract void flush() throws IOException;
+
+            static Target of(Appendable out) {
+                Objects.requireNonNull(out, "out");
+                if (out instanceof Writer writer) {
+                    return new Target() {
+                        char[] chars = new char[0];
+
+                        @Override
+                        void write(StringBuilder chunk) throws IOException {
+                            int length = chunk.length();
+                            if (chars.length < length) chars = new char[Math.max(length, bufferSize)];
+                            chunk.getChars(0, length, chars, 0);
+                            writer.write(chars, 0, length);
+                        }
+
+                        @Override
+                        void flush() throws IOException {
+                            writer.flush();
+                        }
+                    };
+                }
+                return new Target() {
+                    @Override
+                    void write(StringBuilder chunk) throws IOException {
+                        out.append(chunk);
+                    }
+
+                    @Override
+                    void flush() throws IOException {
+                        if (out instanceof Flushable flushable) flushable.flush();
+                    }
+                };
+            }
+
+            static Target of(Utf8.Sink out) {
+                Objects.requireNonNull(out, "out");
+                return new Target() {
+                    @Override
+                    void write(StringBuilder chunk) throws IOException {
+                        out.append(chunk);
+                    }
+
+                    @Override
+                    void flush() throws IOException {
+                        out.flush();
+                    }
+                };
+            }
+        }
+
+        static void stream(Target out, String componentType, Object[] ts, Cells cells, Arrays.ViewRange rows, Arrays.ViewRange columns) throws IOException {
+            int length;
+            if (ts == null || (length = ts.length) == 0) {
+                StringBuilder builder = new StringBuilder(ts == null ? "Array is null" : "Array is empty");
+                out.write(builder);
+                out.flush();
+                return;
+            }
+            StringBuilder builder = new StringBuilder(bufferSize + 64).append(header(componentType, length));
+            int from = Math.min(Math.max(rows.start(length), 0), length - 1)
+                    , to = Math.max(Math.min(rows.end(length), length), from + 1);
+            moreRows(builder, from);
+            for (int i = from; i < to; i++) {
+                Object row = ts[i];
+                builder.append("\n <*> row: [").append(i).append("]");
+                int cols;
+                if (row == null) {
+                    builder.append(" >> ").append(Arrays.nullS);
+                } else if ((cols = cells.length(row)) != 0) {
+                    int cFrom = Math.min(Math.max(columns.start(cols), 0), cols - 1)
+                            , cTo = Math.max(Math.min(columns.end(cols), cols), cFrom + 1);
+                    more(builder, "\n    ", cFrom);
+                    for (int j = cFrom; j < cTo; j++) {
+                        cells.append(builder.append("\n    [").append(j).append("] >> "), row, j);
+                        if (builder.length() >= bufferSize) drain(out, builder);
+                    }
+                    more(builder, "\n    ", cols - cTo);
+                }
+                if (builder.length() >= bufferSize) drain(out, builder);
+            }
+            moreRows(builder, length - to).append("\n    }");
+            drain(out, builder);
+        }
+
+        private static void drain(Target out, StringBuilder builder) throws IOException {
+            out.write(builder);
+            out.flush();
+            builder.setLength(0);
+        }
+    }
+
+    /**
+     * Used for SQL statements.
+     * <p> Default implementation of {@link InClause#toString(long[])}
+     * <p> An empty array yields {@code "()"}, which is not a valid SQL {@code IN} list,
+     * callers should check for empty input and skip or replace the condition.
+     * */
     static<T> String toQueryString(long[] longs) {
         assert longs != null;
-        String query = "(";
-        int length = longs.length, last = length - 1;
-        for (int i = 0; i < last; i++) {
-            query = query.concat(String.valueOf(longs[i]).concat(", "));
+        return InClause.toString(longs);
+    }
+
+    /**
+     * Linear-time builder of SQL {@code IN} lists of the form: {@code (a, b, c)}.
+     * <ul>
+     *     <li>
+     *         Buffers created by this class are presized, and elements are written straight into them.
+     *     </li>
+     *     <li>
+     *         Empty ranges are rendered as {@link #emptyClause}.
+     *     </li>
+     *     <li>
+     *         {@link String} elements are quoted, with single quotes escaped by doubling them (SQL standard),
+     *         {@code null} elements are rendered as {@link #nullS}.
+     *     </li>
+     *     <li>
+     *         The chunked variants split the list into several clauses of at most {@code maxSize} elements each,
+     *         for databases that limit the size of an {@code IN} list.
+     *     </li>
+     * </ul>
+     * */
+    final class InClause {
+        private InClause() {}
+
+        public static final String
+                nullS = "NULL";
+
+        static final String
+                open = "("
+                , close = ")"
+                , separator = ", "
+                , emptyClause = open.concat(close)
+                ;
+
+        static final char quote = '\'';
+
+        /**
+         * Appends a single clause, comprising the elements between {@code from} (inclusive) and {@code to} (exclusive).
+         * */
+        @FunctionalInterface
+        private interface Clause {
+            void appendTo(StringBuilder out, int from, int to);
+        }
+
+        public static String toString(long[] values) {
+            return appendTo(new StringBuilder(0), values, 0, values.length).toString();
+        }
+
+        public static String toString(int[] values) {
+            return appendTo(new StringBuilder(0), values, 0, values.length).toString();
+        }
+
+        public static String toString(String[] values) {
+            return appendTo(new StringBuilder(0), values, 0, values.length).toString();
+        }
+
+        /**
+         * Appends a single clause with the elements between {@code from} (inclusive) and {@code to} (exclusive).
+         * @return the same {@code out} instance.
+         * @throws IndexOutOfBoundsException if the range is out of bounds.
+         * */
+        public static StringBuilder appendTo(StringBuilder out, long[] values, int from, int to) {
+            Objects.checkFromToIndex(from, to, values.length);
+            if (from == to) return out.append(emptyClause);
+            int count = to - from, begin = out.length();
+            Arrays.Capacity capacity = Arrays.Capacity.of(long.class);
+            Arrays.Capacity.reserve(out, capacity.joined(count, 2, separator.length()));
+            out.append(open).append(values[from++]);
+            for (; from < to; from++) {
+                out.append(separator).append(values[from]);
+            }
+            out.append(close);
+            capacity.recordJoined(count, out.length() - begin, 2, separator.length());
+            return out;
+        }
+
+        /**
+         * @see #appendTo(StringBuilder, long[], int, int)
+         * */
+        public static StringBuilder appendTo(StringBuilder out, int[] values, int from, int to) {
+            Objects.checkFromToIndex(from, to, values.length);
+            if (from == to) return out.append(emptyClause);
+            int count = to - from, begin = out.length();
+            Arrays.Capacity capacity = Arrays.Capacity.of(int.class);
+            Arrays.Capacity.reserve(out, capacity.joined(count, 2, separator.length()));
+            out.append(open).append(values[from++]);
+            for (; from < to; from++) {
+                out.append(separator).append(values[from]);
+            }
+            out.append(close);
+            capacity.recordJoined(count, out.length() - begin, 2, separator.length());
+            return out;
+        }
+
+        /**
+         * Quoted and escaped variant of {@link #appendTo(StringBuilder, long[], int, int)}
+         * @see InClause
+         * */
+        public static StringBuilder appendTo(StringBuilder out, String[] values, int from, int to) {
+            Objects.checkFromToIndex(from, to, values.length);
+            if (from == to) return out.append(emptyClause);
+            long estimate = 2 + (long) (to - from - 1) * separator.length();
+            for (int i = from; i < to; i++) {
+                String next = values[i];
+                estimate += next == null ? nullS.length() : next.length() + 2;
+            }
+            Arrays.Capacity.reserve(out, estimate);
+            appendQuoted(out.append(open), values[from++]);
+            for (; from < to; from++) {
+                appendQuoted(out.append(separator), values[from]);
+            }
+            return out.append(close);
+        }
+
+        private static void appendQuoted(StringBuilder out, String value) {
+            if (value == null) {
+                out.append(nullS);
+                return;
+            }
+            out.append(quote);
+            int start = 0, q;
+            while ((q = value.indexOf(quote, start)) >= 0) {
+                out.append(value, start, q + 1).append(quote);
+                start = q + 1;
+            }
+            out.append(value, start, value.length()).append(quote);
+        }
+
+        /**
+         * Splits the array into clauses of at most {@code maxSize} elements each.
+         * @return an array of clauses, with a single {@link #emptyClause} if the source is empty.
+         * @throws IllegalArgumentException if {@code maxSize} is lower than 1.
+         * */
+        public static String[] chunks(long[] values, int maxSize) {
+            return chunks(values.length, maxSize, (out, from, to) -> appendTo(out, values, from, to));
+        }
+
+        /**
+         * @see #chunks(long[], int)
+         * */
+        public static String[] chunks(int[] values, int maxSize) {
+            return chunks(values.length, maxSize, (out, from, to) -> appendTo(out, values, from, to));
+        }
+
+        /**
+         * @see #chunks(long[], int)
+         * */
+        public static String[] chunks(String[] values, int maxSize) {
+            return chunks(values.length, maxSize, (out, from, to) -> appendTo(out, values, from, to));
+        }
+
+        /**
+         * Writes every clause of at most {@code maxSize} elements into the target, separated by {@code between}.
+         * <p> i.e.: {@code between} = {@code " OR id IN "}
+         * <p> If the target is not a {@link StringBuilder}, each clause is built in a single reused buffer before being appended.
+         * @return the same {@code out} instance.
+         * @throws IOException if the target {@link Appendable} throws while appending.
+         * @throws IllegalArgumentException if {@code maxSize} is lower than 1.
+         * */
+        public static<A extends Appendable> A appendTo(A out, long[] values, int maxSize, String between) throws IOException {
+            return appendTo(out, values.length, maxSize, between, (sb, from, to) -> appendTo(sb, values, from, to));
+        }
+
+        /**
+         * @see #appendTo(Appendable, long[], int, String)
+         * */
+        public static<A extends Appendable> A appendTo(A out, int[] values, int maxSize, String between) throws IOException {
+            return appendTo(out, values.length, maxSize, between, (sb, from, to) -> appendTo(sb, values, from, to));
+        }
+
+        /**
+         * @see #appendTo(Appendable, long[], int, String)
+         * */
+        public static<A extends Appendable> A appendTo(A out, String[] values, int maxSize, String between) throws IOException {
+            return appendTo(out, values.length, maxSize, between, (sb, from, to) -> appendTo(sb, values, from, to));
+        }
+
+        private static String[] chunks(int length, int maxSize, Clause clause) {
+            if (maxSize < 1) throw new IllegalArgumentException("maxSize must be greater than 0, was: " + maxSize);
+            if (length == 0) return new String[]{emptyClause};
+            String[] res = new String[(length - 1) / maxSize + 1];
+            StringBuilder sb = new StringBuilder(0);
+            for (int i = 0, from = 0, to; from < length; i++, from = to) {
+                to = end(from, maxSize, length);
+                sb.setLength(0);
+                clause.appendTo(sb, from, to);
+                res[i] = sb.toString();
+            }
+            return res;
+        }
+
+        private static<A extends Appendable> A appendTo(A out, int length, int maxSize, String between, Clause clause) throws IOException {
+            if (maxSize < 1) throw new IllegalArgumentException("maxSize must be greater than 0, was: " + maxSize);
+            if (length == 0) {
+                out.append(emptyClause);
+                return out;
+            }
+            boolean direct = out instanceof StringBuilder;
+            StringBuilder sb = direct ? (StringBuilder) out : new StringBuilder(0);
+            for (int from = 0, to; from < length; from = to) {
+                to = end(from, maxSize, length);
+                if (from != 0) out.append(between);
+                if (!direct) sb.setLength(0);
+                clause.appendTo(sb, from, to);
+                if (!direct) out.append(sb);
+            }
+            return out;
+        }
+
+        /**
+         * @return the exclusive end of the chunk starting at {@code from}, without overflowing.
+         * */
+        private static int end(int from, int maxSize, int length) {
+            return (int) Math.min((long) from + maxSize, length);
         }
-        return query.concat(String.valueOf(longs[last]).concat(")"));
     }
 }
\ No newline at end of file
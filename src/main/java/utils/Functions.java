@@ -159,14 +159,33 @@ public final class Functions {
         }
     }
 
+    /**
+     * Wraps the action so that any failure is rethrown as an {@link IllegalStateException}
+     * whose message is the provenance of this call.
+     * <p> The stack is captured lazily via {@link ToStringFunction.StackPrinter.Provenance},
+     * and only materialized and formatted if the action fails.
+     * <p> Sampled modes resolve the call-site to the caller of this method.
+     * */
     public static Runnable exceptional(Runnable action) {
-        StackTraceElement[] es = Thread.currentThread().getStackTrace();
+        return exceptional(ToStringFunction.StackPrinter.Provenance.capture(Functions.class), action);
+    }
+
+    /**
+     * Variant of {@link #exceptional(Runnable)} that captures the provenance with the given mode
+     * instead of the global one.
+     * @see ToStringFunction.StackPrinter.Provenance.Mode
+     * */
+    public static Runnable exceptional(ToStringFunction.StackPrinter.Provenance.Mode mode, Runnable action) {
+        return exceptional(ToStringFunction.StackPrinter.Provenance.capture(mode, Functions.class), action);
+    }
+
+    private static Runnable exceptional(ToStringFunction.StackPrinter.Provenance provenance, Runnable action) {
         return () -> {
             try {
                 action.run();
             } catch (Exception | Error e) {
                 throw new IllegalStateException(
-                        ToStringFunction.StackPrinter.PROV.toStringAll(es)
+                        provenance.get()
                         , e);
             }
         };
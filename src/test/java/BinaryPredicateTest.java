@@ -0,0 +1,131 @@
+import interfaces.BinaryPredicate;
+
+import java.util.Objects;
+
+public class BinaryPredicateTest {
+    static void check(boolean ok, String what) {
+        if (!ok) throw new AssertionError(what);
+    }
+
+    static void eq(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) throw new AssertionError(what + ": expected <" + expected + "> but was <" + actual + ">");
+    }
+
+    static void throwsIAE(Runnable action, String what) {
+        try {
+            action.run();
+        } catch (IllegalArgumentException expected) {
+            return;
+        }
+        throw new AssertionError(what + ": expected IllegalArgumentException");
+    }
+
+    public static void main(String[] args) {
+        arrayDiff();
+        rangeEquals();
+        composition();
+        hashGated();
+        System.out.println("BinaryPredicateTest OK");
+    }
+
+    static void arrayDiff() {
+        BinaryPredicate.ArrayDiff<int[]> diff = BinaryPredicate.intArrDiff;
+        int[] a = {1, 2, 3, 4};
+
+        check(diff.diff(a, a.clone()).isEmpty(), "equal snapshots");
+        check(diff.diff(new int[0], new int[0]).isEmpty(), "empty snapshots");
+        check(diff.diff(null, null) == BinaryPredicate.ArrayDiff.Dirty.none, "null snapshots");
+
+        BinaryPredicate.ArrayDiff.Dirty dirty = diff.diff(new int[]{1, 9, 3, 8}, a);
+        eq(1, dirty.first, "first mismatch");
+        eq(3, dirty.last, "last mismatch");
+        eq(3, dirty.span(), "span");
+        check(diff.test(new int[]{1, 9, 3, 8}, a) == dirty.isEmpty(), "diff gates like test");
+
+        dirty = diff.diff(new int[]{1, 2, 3}, new int[]{1, 2});
+        eq(2, dirty.first, "longer next, first");
+        eq(2, dirty.last, "longer next, last");
+
+        dirty = diff.diff(new int[]{1, 2}, null);
+        eq(0, dirty.first, "null prev is empty, first");
+        eq(1, dirty.last, "null prev is empty, last");
+
+        int[] wide = new int[200], changed = wide.clone();
+        changed[0] = 1;
+        changed[199] = 1;
+        dirty = diff.diff(changed, wide, 64);
+        eq(0, dirty.first, "blocks, first");
+        eq(199, dirty.last, "blocks, last");
+        eq(64, dirty.blockSize(), "block size");
+        check(dirty.isDirty(0) && dirty.isDirty(199), "dirty blocks");
+        check(!dirty.isDirty(100), "clean block");
+        eq(192, dirty.nextDirty(64), "next dirty block");
+        eq(-1, dirty.nextDirty(200), "past the last mismatch");
+
+        int[] ten = new int[10], five = ten.clone();
+        five[5] = 1;
+        dirty = diff.diff(five, ten, 2);
+        check(dirty.isDirty(4) && !dirty.isDirty(3) && !dirty.isDirty(6), "single dirty block");
+        eq(5, dirty.nextDirty(0), "next dirty clamps to first");
+        check(diff.diff(ten, ten.clone(), 2).isEmpty(), "equal snapshots, blocks");
+
+        throwsIAE(() -> diff.diff(a, a, 0), "blockSize 0");
+    }
+
+    static void rangeEquals() {
+        check(BinaryPredicate.intArrEquals(1, 3).test(new int[]{0, 1, 2, 9}, new int[]{5, 1, 2, 7}), "equal span");
+        check(!BinaryPredicate.intArrEquals(0, 3).test(new int[]{0, 1, 2}, new int[]{0, 1, 3}), "unequal span");
+        check(BinaryPredicate.intArrEquals(5, 10).test(new int[]{1}, new int[]{2}), "span clamped to empty on both sides");
+        check(!BinaryPredicate.intArrEquals(0, 3).test(new int[]{1, 2}, new int[]{1, 2, 3}), "truncated spans of different length");
+        check(BinaryPredicate.intArrEquals(0, 0).test(new int[]{1}, new int[]{2}), "empty span");
+        check(!BinaryPredicate.intArrEquals(0, 1).test(null, new int[0]), "null against an array");
+        throwsIAE(() -> BinaryPredicate.intArrEquals(3, 1), "inverted span");
+        throwsIAE(() -> BinaryPredicate.intArrEquals(-1, 1), "negative span");
+
+        check(BinaryPredicate.longArrEquals.test(new long[]{1, 2}, new long[]{1, 2}), "longArrEquals");
+        check(BinaryPredicate.longArrEquals.isArrayEquals(), "longArrEquals is an ArrayEquals");
+    }
+
+    static void composition() {
+        BinaryPredicate<String> equal = BinaryPredicate.equalFun();
+        BinaryPredicate<String> negated = equal.negate();
+        check(!negated.test("a", "a") && negated.test("a", "b"), "negate");
+        check(negated.negate() == equal, "negate is self-inverse");
+
+        BinaryPredicate<String> failing = (next, prev) -> {
+            throw new UnsupportedOperationException("boom");
+        };
+        try {
+            failing.negate().test("a", "b");
+            throw new AssertionError("negated failure");
+        } catch (IllegalStateException e) {
+            check(e.getCause() instanceof UnsupportedOperationException, "negated failure cause");
+        }
+
+        BinaryPredicate<String> alwaysFalse = BinaryPredicate.binaryAlwaysFalse()
+                , alwaysTrue = BinaryPredicate.binaryAlwaysTrue();
+        check(equal.and(alwaysFalse) == alwaysFalse && alwaysFalse.and(equal) == alwaysFalse, "and folds false");
+        check(equal.and(alwaysTrue) == equal && equal.and(equal) == equal, "and folds true and self");
+        check(equal.or(alwaysTrue) == alwaysTrue && equal.or(alwaysFalse) == equal, "or folds constants");
+
+        BinaryPredicate<String> sameLength = (next, prev) -> next.length() == prev.length()
+                , sameFirst = (next, prev) -> next.charAt(0) == prev.charAt(0);
+        BinaryPredicate<String> all = equal.and(sameLength).and(sameFirst);
+        check(all instanceof BinaryPredicate.Conjunction, "flattened conjunction");
+        eq(3, ((BinaryPredicate.Conjunction<String>) all).size(), "conjunction size");
+        check(all.test("ab", "ab") && !all.test("ab", "ac"), "conjunction");
+        BinaryPredicate<String> any = equal.or(sameLength).or(sameFirst);
+        check(any.test("ab", "ac") && any.test("ab", "xyz".substring(0, 2)) && !any.test("ab", "xyz"), "disjunction");
+        check(equal.xor(alwaysTrue).test("a", "b") && !equal.xor(alwaysTrue).test("a", "a"), "xor folds true");
+    }
+
+    static void hashGated() {
+        BinaryPredicate<String> gated = BinaryPredicate.hashGated(String::hashCode, BinaryPredicate.equalFun());
+        String a = "payload";
+        check(gated.test(a, new String(a)), "equal distinct instances");
+        check(!gated.test("Aa", "BB"), "colliding fingerprints fall back to equality");
+        check(!gated.test("a", "b"), "different fingerprints");
+        check(gated.test(null, null) && !gated.test("a", null) && !gated.test(null, "a"), "nulls");
+        check(gated.test("b", "b"), "last value reused as prev");
+    }
+}
@@ -0,0 +1,133 @@
+import interfaces.Producer;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+public class ProducerTest {
+    static void check(boolean ok, String what) {
+        if (!ok) throw new AssertionError(what);
+    }
+
+    static void eq(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) throw new AssertionError(what + ": expected <" + expected + "> but was <" + actual + ">");
+    }
+
+    /**
+     * Runs the scheduled drains only when asked, so emissions can be conflated deterministically.
+     * */
+    static final class ManualExecutor implements Executor {
+        final Queue<Runnable> tasks = new ArrayDeque<>();
+
+        @Override
+        public void execute(Runnable command) {
+            tasks.add(command);
+        }
+
+        void runAll() {
+            Runnable next;
+            while ((next = tasks.poll()) != null) next.run();
+        }
+    }
+
+    public static void main(String[] args) {
+        broadcast();
+        conflating();
+        batching();
+        System.out.println("ProducerTest OK");
+    }
+
+    static void broadcast() {
+        Producer.Broadcast<String> broadcast = Producer.broadcast();
+        check(broadcast.isEmpty(), "new broadcast is empty");
+        check(broadcast.unregister() == null, "unregister on empty");
+
+        List<String> first = new ArrayList<>(), second = new ArrayList<>();
+        Consumer<String> a = first::add, b = second::add;
+        broadcast.register(a);
+        broadcast.register(b);
+        broadcast.register(a);
+        eq(3, broadcast.size(), "size after register");
+
+        broadcast.accept("x");
+        eq(List.of("x", "x"), first, "duplicate registration receives twice");
+        eq(List.of("x"), second, "second consumer");
+
+        check(broadcast.unregister(a), "unregister registered");
+        eq(2, broadcast.size(), "size after unregister");
+        broadcast.accept("y");
+        eq(List.of("x", "x", "y"), first, "one registration of a left");
+        eq(List.of("x", "y"), second, "registration order kept");
+
+        check(!broadcast.unregister(s -> {}), "unregister unknown");
+        check(broadcast.unregister() == a, "unregister returns the last registered");
+        check(broadcast.unregister() == b, "unregister drains in reverse order");
+        check(broadcast.isEmpty(), "empty after removing every consumer");
+        broadcast.accept("z");
+        eq(3, first.size(), "no delivery once empty");
+
+        try {
+            broadcast.register(null);
+            throw new AssertionError("null consumer");
+        } catch (NullPointerException expected) {
+        }
+    }
+
+    static void conflating() {
+        ManualExecutor executor = new ManualExecutor();
+        Producer.Conflating<String, String> conflating = Producer.conflating(executor);
+        List<String> received = new ArrayList<>();
+        conflating.register(received::add);
+
+        conflating.accept("a");
+        conflating.accept("b");
+        conflating.accept("c");
+        eq(1, executor.tasks.size(), "a single drain is scheduled");
+        executor.runAll();
+        eq(List.of("c"), received, "only the latest value is delivered");
+        eq(2L, conflating.dropped(), "replaced values are dropped");
+        eq(1L, conflating.drains(), "drains");
+
+        conflating.accept(null);
+        executor.runAll();
+        eq(2, received.size(), "null values are delivered");
+        check(received.get(1) == null, "null value");
+
+        executor.runAll();
+        eq(2, received.size(), "no emission, no delivery");
+    }
+
+    static void batching() {
+        ManualExecutor executor = new ManualExecutor();
+        Producer.Conflating<Integer, List<Integer>> batching = Producer.batching(executor, 3);
+        List<List<Integer>> received = new ArrayList<>();
+        batching.register(received::add);
+
+        for (int i = 0; i < 5; i++) batching.accept(i);
+        executor.runAll();
+        eq(List.of(List.of(2, 3, 4)), received, "newest values, in emission order");
+        eq(2L, batching.dropped(), "values beyond the batch are dropped");
+
+        batching.accept(7);
+        executor.runAll();
+        eq(List.of(7), received.get(1), "batch smaller than maxBatch");
+
+        Producer.Conflating<Integer, List<Integer>> single = Producer.batching(executor, 1);
+        List<Object> singles = new ArrayList<>();
+        single.register(singles::add);
+        single.accept(1);
+        single.accept(2);
+        executor.runAll();
+        eq(List.of(List.of(2)), singles, "batches of one are still lists");
+
+        try {
+            Producer.batching(executor, 0);
+            throw new AssertionError("maxBatch 0");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+}
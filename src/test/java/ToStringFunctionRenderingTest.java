@@ -0,0 +1,187 @@
+import interfaces.ToStringFunction;
+import interfaces.ToStringFunction.Arrays.ViewRange;
+import interfaces.ToStringFunction.Budget;
+import interfaces.ToStringFunction.Collections.Window;
+import interfaces.ToStringFunction.InClause;
+import interfaces.ToStringFunction.StackPrinter;
+import interfaces.ToStringFunction.Utf8;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+public class ToStringFunctionRenderingTest {
+    static void check(boolean ok, String what) {
+        if (!ok) throw new AssertionError(what);
+    }
+
+    static void eq(Object expected, Object actual, String what) {
+        if (!Objects.equals(expected, actual)) throw new AssertionError(what + ": expected <" + expected + "> but was <" + actual + ">");
+    }
+
+    static final ToStringFunction<Integer> valueOf = ToStringFunction.valueOf();
+    static final List<Integer> ten = List.of(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+
+    public static void main(String[] args) throws IOException {
+        window();
+        budget();
+        utf8();
+        inClause();
+        viewRange();
+        parallel();
+        stackPrinter();
+        System.out.println("ToStringFunctionRenderingTest OK");
+    }
+
+    static String window(Iterable<Integer> source, Window window) {
+        return ToStringFunction.Collections.toString("[", source, ", ", "]", valueOf, window);
+    }
+
+    static void window() {
+        eq("[1, 2, 3, ... (7 more)]", window(ten, Window.head(3)), "head");
+        eq("[... (8 more), 9, 10]", window(ten, Window.tail(2)), "tail");
+        eq("[1, 2, ... (6 more), 9, 10]", window(ten, Window.of(2, 2)), "head and tail");
+        eq("[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]", window(ten, Window.of(20, 20)), "window larger than the input");
+        eq("[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]", window(ten, Window.of(5, 5)), "window exactly the input");
+        eq("[]", window(List.of(), Window.of(2, 2)), "empty input");
+        eq("[1, 2, ... (8 more)]", window(ten, Window.of(2, 2).withMaxChars(3)), "budget spent by the head, single marker");
+
+        Iterable<Integer> iterable = ten::iterator;
+        eq("[1, 2, ... (6 more), 9, 10]", window(iterable, Window.of(2, 2)), "iterator head and tail");
+        eq("[1, 2, 3, 4, 5, 6, 7, 8, 9, 10]", window(iterable, Window.of(20, 20)), "iterator window larger than the input");
+        eq("[1, 2, ...]", window(iterable, Window.head(2)), "iterator head, unknown remainder");
+        eq("[1, 2, ...]", window(iterable, Window.of(2, 2).withMaxChars(3)), "iterator budget spent by the head");
+        eq("[... (7 more), 8, 9, 10]",
+                ToStringFunction.Collections.toString("[", ten.stream(), ", ", "]", valueOf, Window.tail(3)), "stream tail");
+
+        try {
+            Window.of(-1, 0);
+            throw new AssertionError("negative head");
+        } catch (IllegalArgumentException expected) {
+        }
+    }
+
+    static void budget() {
+        Integer[] array = ten.toArray(new Integer[0]);
+        eq("[1, 2, 3, ... (7 more)]", ToStringFunction.Arrays.toString(array, Budget.elements(3)), "element budget");
+        eq("[1, 2, ... (8 more)]", ToStringFunction.Arrays.toString(array, Budget.chars(5)), "char budget");
+        eq("[... (10 more)]", ToStringFunction.Arrays.toString(array, Budget.elements(0)), "zero budget");
+        eq(java.util.Arrays.toString(array), ToStringFunction.Arrays.toString(array, Budget.elements(30)), "budget larger than the input");
+        eq("[]", ToStringFunction.Arrays.toString(new Integer[0], Budget.elements(3)), "empty input");
+        eq(java.util.Arrays.toString(array), ToStringFunction.Arrays.toString(array, Budget.unlimited), "unlimited");
+    }
+
+    static byte[] encode(int bufferSize, String s) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8.Sink sink = Utf8.Sink.of(bytes, bufferSize);
+        sink.append(s);
+        sink.flush();
+        return bytes.toByteArray();
+    }
+
+    static void utf8() throws IOException {
+        String mixed = "a\u00E9\u20AC\uD83D\uDE00z";
+        check(java.util.Arrays.equals(mixed.getBytes(StandardCharsets.UTF_8), encode(64, mixed)), "1 to 4 byte encodings");
+
+        String pairs = "a\uD83D\uDE00".repeat(50);
+        check(java.util.Arrays.equals(pairs.getBytes(StandardCharsets.UTF_8), encode(0, pairs)), "surrogate pairs across drains");
+
+        eq("?x?", new String(encode(64, "\uD800x\uDC00"), StandardCharsets.UTF_8), "unpaired surrogates");
+        eq("?", new String(encode(64, "\uD83D"), StandardCharsets.UTF_8), "high surrogate at the end");
+        eq(0, encode(64, "").length, "empty input");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Utf8.Sink sink = Utf8.Sink.of(bytes, 0);
+        sink.append(Long.MIN_VALUE).append(",").append(-42).append(",").append(Long.MAX_VALUE);
+        sink.flush();
+        eq(Long.MIN_VALUE + ",-42," + Long.MAX_VALUE, bytes.toString(StandardCharsets.UTF_8), "numbers");
+
+        ByteBuffer target = ByteBuffer.allocate(3);
+        try {
+            Utf8.Sink.of(target).append("abcd");
+            throw new AssertionError("ByteBuffer overflow");
+        } catch (BufferOverflowException expected) {
+        }
+    }
+
+    static void inClause() throws IOException {
+        eq(List.of("(1, 2)", "(3, 4)", "(5)"), List.of(InClause.chunks(new long[]{1, 2, 3, 4, 5}, 2)), "uneven chunks");
+        eq(List.of("(1, 2)", "(3, 4)"), List.of(InClause.chunks(new long[]{1, 2, 3, 4}, 2)), "exact chunks");
+        eq(List.of("(1, 2, 3)"), List.of(InClause.chunks(new int[]{1, 2, 3}, 3)), "single chunk at maxSize");
+        eq(List.of("(1)", "(2)"), List.of(InClause.chunks(new int[]{1, 2}, 1)), "chunks of one");
+        eq(List.of("(1, 2)"), List.of(InClause.chunks(new int[]{1, 2}, Integer.MAX_VALUE)), "maxSize beyond the input");
+        eq(List.of("()"), List.of(InClause.chunks(new long[0], 2)), "empty input");
+        try {
+            InClause.chunks(new long[]{1}, 0);
+            throw new AssertionError("maxSize 0");
+        } catch (IllegalArgumentException expected) {
+        }
+
+        eq("('o''neil', NULL, '''')", InClause.toString(new String[]{"o'neil", null, "'"}), "quotes and nulls");
+        eq("(1, 2) OR id IN (3)", InClause.appendTo(new StringBuilder(), new int[]{1, 2, 3}, 2, " OR id IN ").toString(), "appended chunks");
+        eq("(1, 2)", ToStringFunction.toQueryString(new long[]{1, 2}), "query string");
+        eq("()", ToStringFunction.toQueryString(new long[0]), "empty query string");
+
+        StringBuilder owned = new StringBuilder("id IN ");
+        InClause.appendTo(owned, new String[]{"a".repeat(64)}, 0, 1);
+        eq("id IN ('" + "a".repeat(64) + "')", owned.toString(), "appended to a caller buffer");
+    }
+
+    static void viewRange() {
+        check(ViewRange.limit(3, ViewRange.Limit.toFirst) == ViewRange.limit(3, ViewRange.Limit.toFirst), "interned limit toFirst");
+        check(ViewRange.limit(31, ViewRange.Limit.toLast) == ViewRange.limit(31, ViewRange.Limit.toLast), "interned limit toLast");
+        check(ViewRange.single(0) == ViewRange.single(0), "interned single");
+        check(ViewRange.single(32) != ViewRange.single(32), "single beyond the cache");
+
+        String[] abc = {"a", "b", "c"};
+        eq("[a, b]", ToStringFunction.Arrays.toString(abc, ViewRange.limit(1, ViewRange.Limit.toFirst)), "first two");
+        eq("[c]", ToStringFunction.Arrays.toString(abc, ViewRange.last), "last");
+        eq("[b]", ToStringFunction.Arrays.toString(abc, ViewRange.single(1)), "single");
+        eq("[a, b, c]", ToStringFunction.Arrays.toString(abc, ViewRange.all), "all");
+    }
+
+    static void parallel() {
+        Integer[] large = IntStream.range(0, 100_000).boxed().toArray(Integer[]::new);
+        eq(ToStringFunction.Arrays.toString("[", large, ", ", "]", valueOf, 0, large.length),
+                ToStringFunction.Arrays.parallelToString("[", large, ", ", "]", valueOf, 0, large.length, 1), "parallel output");
+        eq(ToStringFunction.Arrays.toString("[", large, ", ", "]", valueOf, 10, 90_000),
+                ToStringFunction.Arrays.parallelToString("[", large, ", ", "]", valueOf, 10, 90_000, 1), "parallel sub range");
+        eq(ToStringFunction.Arrays.toString("[", large, ", ", "]", valueOf, 5, 5),
+                ToStringFunction.Arrays.parallelToString("[", large, ", ", "]", valueOf, 5, 5, 0), "empty range");
+        eq(ToStringFunction.Arrays.toString("[", large, ", ", "]", valueOf, 5, 8),
+                ToStringFunction.Arrays.parallelToString("[", large, ", ", "]", valueOf, 5, 8, 0), "range smaller than a chunk");
+        eq("[]",
+                ToStringFunction.Arrays.parallelToString("[", new Integer[0], ", ", "]", valueOf, 0, 0, 0), "empty input");
+    }
+
+    static void stackPrinter() {
+        StackTraceElement[] es = {
+                new StackTraceElement("A", "a", "A.java", 1)
+                , new StackTraceElement("B", "b", "B.java", 2)
+        };
+        StackPrinter.Cached cached = StackPrinter.Format.DEFAULT.cached(4);
+        String first = cached.toStringAll(es);
+        check(cached.toStringAll(es) == first, "cache hit");
+        StackTraceElement kept = es[0];
+        es[0] = new StackTraceElement("C", "c", "C.java", 3);
+        check(!cached.toStringAll(es).equals(first), "changed frames miss");
+        es[0] = kept;
+        check(cached.toStringAll(es) == first, "stored key unaffected by the caller's array");
+
+        String expected = StackPrinter.Format.DEFAULT.toStringAll(es);
+        try {
+            StackPrinter.Registry.put(StackPrinter.Registry.defaultName, StackPrinter.PROV.cached(4));
+            eq(expected, StackPrinter.PROV.toStringAll(es), "re-entrant default printer");
+            StackPrinter.Registry.put(StackPrinter.Registry.defaultName, (frames, range) -> "<" + StackPrinter.PROV.toString(frames, range) + ">");
+            eq("<" + expected + ">", StackPrinter.PROV.toStringAll(es), "delegating default printer");
+        } finally {
+            StackPrinter.Registry.remove(StackPrinter.Registry.defaultName);
+        }
+        eq(expected, StackPrinter.PROV.toStringAll(es), "default restored");
+    }
+}
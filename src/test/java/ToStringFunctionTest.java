@@ -21,10 +21,10 @@ public class ToStringFunctionTest {
         String s = ToStringFunction.StackPrinter.PROV.toStringAll(es);
         System.out.println(s);
         LockSupport.parkNanos(Duration.ofSeconds(4).toNanos());
-        ToStringFunction.StackPrinter.Params p = ToStringFunction.StackPrinter.params;
-        p.prefix = "<< BEGINNING \n <-> ";
-        p.join = "\n <-> ";
-        p.suffix = "\n END >>";
+        ToStringFunction.StackPrinter.Registry.put(
+                ToStringFunction.StackPrinter.Registry.defaultName,
+                ToStringFunction.StackPrinter.Format.of("<< BEGINNING \n <-> ", "\n <-> ", "\n END >>")
+        );
         String s2 = ToStringFunction.StackPrinter.PROV.toStringAll(es);
         System.out.println(s2);
     }